@@ -2,7 +2,7 @@
  * WordPress dependencies
  */
 import { useSelect, useDispatch } from '@wordpress/data';
-import { setBlockTypeImpressions } from '@wordpress/react-native-bridge';
+import { incrementBlockTypeImpressions } from '@wordpress/react-native-bridge';
 
 /**
  * Internal dependencies
@@ -37,7 +37,10 @@ function useBlockTypeImpressions( blockTypes ) {
 			} );
 
 			// Persist block type impression count to native app store.
-			setBlockTypeImpressions( updatedBlockTypeImpressions );
+			incrementBlockTypeImpressions(
+				{ [ name ]: -blockTypeImpressions[ name ] },
+				updatedBlockTypeImpressions
+			);
 		}
 	};
 
@@ -20,7 +20,7 @@ import {
 	insertAfter,
 	insertBefore,
 } from '@wordpress/icons';
-import { setBlockTypeImpressions } from '@wordpress/react-native-bridge';
+import { incrementBlockTypeImpressions } from '@wordpress/react-native-bridge';
 
 /**
  * Internal dependencies
@@ -181,6 +181,15 @@ export class Inserter extends Component {
 					} ),
 					{}
 				);
+				const decrements = Object.entries( blockTypeImpressions )
+					.filter( ( [ , count ] ) => count > 0 )
+					.reduce(
+						( acc, [ blockName ] ) => ( {
+							...acc,
+							[ blockName ]: -1,
+						} ),
+						{}
+					);
 
 				// Persist block type impression to JavaScript store.
 				updateSettings( {
@@ -188,7 +197,10 @@ export class Inserter extends Component {
 				} );
 
 				// Persist block type impression count to native app store.
-				setBlockTypeImpressions( decrementedImpressions );
+				incrementBlockTypeImpressions(
+					decrements,
+					decrementedImpressions
+				);
 			}
 		}
 
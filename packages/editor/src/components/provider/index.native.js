@@ -104,6 +104,13 @@ class NativeEditorProvider extends Component {
 			updateBlockEditorSettings,
 		} = this.props;
 
+		// Native may only send the theme sections that changed, so keep the
+		// latest value of each one to compute the theme colors.
+		this.themeSettings = {
+			rawStyles: this.props.rawStyles,
+			rawFeatures: this.props.rawFeatures,
+		};
+
 		updateEditorSettings( {
 			capabilities,
 			...this.getThemeColors( this.props ),
@@ -170,8 +177,15 @@ class NativeEditorProvider extends Component {
 						window.wp.galleryBlockV2Enabled =
 							galleryWithImageBlocks;
 					}
+					if ( Object.keys( editorSettings ).length === 0 ) {
+						return;
+					}
+					this.themeSettings = {
+						...this.themeSettings,
+						...editorSettings,
+					};
 					updateEditorSettings(
-						this.getThemeColors( editorSettings )
+						this.getThemeColors( this.themeSettings )
 					);
 				}
 			);
@@ -354,8 +368,13 @@ class NativeEditorProvider extends Component {
 		switchMode( mode === 'visual' ? 'text' : 'visual' );
 	}
 
-	updateCapabilitiesAction( capabilities ) {
-		this.props.updateEditorSettings( { capabilities } );
+	updateCapabilitiesAction( changedCapabilities ) {
+		// Native only sends the capabilities that changed since the last update.
+		this.capabilities = {
+			...( this.capabilities ?? this.props.capabilities ),
+			...changedCapabilities,
+		};
+		this.props.updateEditorSettings( { capabilities: this.capabilities } );
 	}
 
 	render() {
@@ -8,23 +8,74 @@ import com.facebook.react.uimanager.events.RCTEventEmitter
 /**
  * This event includes all data contained in [com.facebook.react.views.textinput.ReactTextChangedEvent],
  * plus some extra info Gutenberg needs from Aztec.
+ *
+ * In delta mode, the event carries the [TextDelta] of the change instead of the full HTML of the text. Both come
+ * with the [ReactAztecText.getTextRevision] they bring JS to.
+ *
+ * The events carrying the HTML that are queued for the same view are coalesced, and the one with the latest event
+ * count is kept. Deltas and the events of characters JS may handle as trigger keys (e.g. "@" for mentions) are all
+ * sent, so the [mCoalescingKey] must change after any of them, otherwise a later event would take the place of an
+ * older one queued before it.
  */
-class AztecReactTextChangedEvent(
+class AztecReactTextChangedEvent @JvmOverloads constructor(
     viewId: Int,
-    private val mText: String,
+    private val mText: String?,
     private val mEventCount: Int,
-    private val mMostRecentChar: Char?
+    private val mMostRecentChar: Char?,
+    private val mDelta: TextDelta? = null,
+    private val mCoalescingKey: Short = 0,
+    private val mTextRevision: Int? = null
 ) : Event<AztecReactTextChangedEvent>(viewId) {
 
+    /**
+     * Replacement of the plain text between [start] and [end] with [text], formatted with [formats]. The
+     * [checksum], when present, is the hash of the whole text and its delta formats after the change, as computed
+     * by [ReactAztecText.getTextChecksum] and matched by `getTextDeltaChecksum` in JS, so that JS can check the
+     * value it patched.
+     */
+    class TextDelta(
+        val start: Int,
+        val end: Int,
+        val text: String,
+        val formats: List<String>,
+        val checksum: Int?
+    ) {
+        fun toWritableMap(): WritableMap =
+                Arguments.createMap().apply {
+                    putInt("start", start)
+                    putInt("end", end)
+                    putString("text", text)
+                    putArray("formats", Arguments.fromList(formats))
+                    if (checksum != null) {
+                        putInt("checksum", checksum)
+                    }
+                }
+    }
+
     override fun getEventName(): String = "topAztecChange"
 
+    override fun canCoalesce(): Boolean =
+            mDelta == null && (mMostRecentChar == null || Character.isLetterOrDigit(mMostRecentChar))
+
+    override fun getCoalescingKey(): Short = mCoalescingKey
+
+    override fun coalesce(otherEvent: AztecReactTextChangedEvent): AztecReactTextChangedEvent =
+            if (mEventCount >= otherEvent.mEventCount) this else otherEvent
+
     override fun dispatch(rctEventEmitter: RCTEventEmitter) {
         rctEventEmitter.receiveEvent(viewTag, eventName, serializeEventData())
     }
 
     private fun serializeEventData(): WritableMap =
             Arguments.createMap().apply {
-                putString("text", mText)
+                if (mDelta != null) {
+                    putMap("delta", mDelta.toWritableMap())
+                } else {
+                    putString("text", mText)
+                }
+                if (mTextRevision != null) {
+                    putInt("revision", mTextRevision)
+                }
                 putInt("eventCount", mEventCount)
                 putInt("target", viewTag)
                 if (mMostRecentChar != null) {
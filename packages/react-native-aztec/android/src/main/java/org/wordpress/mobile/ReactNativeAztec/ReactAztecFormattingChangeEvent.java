@@ -7,7 +7,9 @@ import com.facebook.react.uimanager.events.Event;
 import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
- * Event emitted by Aztec native view when it receives focus.
+ * Event emitted by Aztec native view when the formats active at the selection change.
+ *
+ * Format changes queued for the same view are coalesced, only the latest formats are sent to JS.
  */
 class ReactAztecFormattingChangeEvent extends Event<ReactAztecFormattingChangeEvent> {
 
@@ -27,7 +29,7 @@ class ReactAztecFormattingChangeEvent extends Event<ReactAztecFormattingChangeEv
 
     @Override
     public boolean canCoalesce() {
-        return false;
+        return true;
     }
 
     @Override
@@ -42,7 +42,6 @@ import com.facebook.react.views.text.DefaultStyleValuesUtil;
 import com.facebook.react.views.text.ReactFontManager;
 import com.facebook.react.views.text.ReactTextUpdate;
 import com.facebook.react.views.textinput.ReactContentSizeChangedEvent;
-import com.facebook.react.views.textinput.ReactTextInputEvent;
 import com.facebook.react.views.textinput.ReactTextInputManager;
 import com.facebook.react.views.textinput.ScrollWatcher;
 
@@ -589,6 +588,15 @@ public class ReactAztecManager extends BaseViewManager<ReactAztecText, LayoutSha
         view.shouldHandleOnSelectionChange = onSelectionChange;
     }
 
+    /**
+     * When enabled, the selection changes carry the revision of the text instead of its HTML. JS can ask for the HTML
+     * with the "requestTextSync" command when the revision differs from the one of the last text it got.
+     */
+    @ReactProp(name = "selectionChangesWithoutText", defaultBoolean = false)
+    public void setSelectionChangesWithoutText(final ReactAztecText view, boolean selectionChangesWithoutText) {
+        view.shouldSendSelectionChangesWithoutText = selectionChangesWithoutText;
+    }
+
     @ReactProp(name = "onScroll", defaultBoolean = false)
     public void setOnScroll(final ReactAztecText view, boolean onScroll) {
         if (onScroll) {
@@ -613,6 +621,15 @@ public class ReactAztecManager extends BaseViewManager<ReactAztecText, LayoutSha
         view.shouldHandleOnPaste = onPasteHandling;
     }
 
+    /**
+     * When enabled, the text changes that JS can apply on its own value are sent as deltas of the plain text
+     * instead of the HTML of the whole text. JS can ask for the HTML with the "requestTextSync" command.
+     */
+    @ReactProp(name = "deltaTextChanges", defaultBoolean = false)
+    public void setDeltaTextChanges(final ReactAztecText view, boolean deltaTextChanges) {
+        view.shouldSendTextDeltas = deltaTextChanges;
+    }
+
     @ReactProp(name = "deleteEnter", defaultBoolean = false)
     public void setShouldDeleteEnter(final ReactAztecText view, boolean shouldDeleteEnter) {
         view.shouldDeleteEnter = shouldDeleteEnter;
@@ -651,6 +668,9 @@ public class ReactAztecManager extends BaseViewManager<ReactAztecText, LayoutSha
         } else if (commandType.equals("blur")) {
             parent.clearFocusFromJS();
             return;
+        } else if (commandType.equals("requestTextSync")) {
+            parent.requestTextSync();
+            return;
         }
         super.receiveCommand(parent, commandType, args);
     }
@@ -675,7 +695,7 @@ public class ReactAztecManager extends BaseViewManager<ReactAztecText, LayoutSha
                             eventDispatcher.dispatchEvent(
                                     new ReactAztecEndEditingEvent(
                                             editText.getId(),
-                                            editText.toHtml(editText.getText(), false)));
+                                            editText.toCachedHtml()));
                         }
                     }
                 });
@@ -699,12 +719,10 @@ public class ReactAztecManager extends BaseViewManager<ReactAztecText, LayoutSha
 
     private class AztecTextWatcher implements TextWatcher {
 
-        private EventDispatcher mEventDispatcher;
         private ReactAztecText mEditText;
         private String mPreviousText;
 
         public AztecTextWatcher(final ReactContext reactContext, final ReactAztecText aztecText) {
-            mEventDispatcher = reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher();
             mEditText = aztecText;
             mPreviousText = null;
         }
@@ -736,22 +754,10 @@ public class ReactAztecManager extends BaseViewManager<ReactAztecText, LayoutSha
             if (!mEditText.isEnterPressedUnderway()) {
                 int currentEventCount = mEditText.incrementAndGetEventCounter();
                 boolean singleCharacterHasBeenAdded = count - before == 1;
-                // The event that contains the event counter and updates it must be sent first.
-                // TODO: t7936714 merge these events
-                mEventDispatcher.dispatchEvent(
-                        new AztecReactTextChangedEvent(
-                                mEditText.getId(),
-                                mEditText.toHtml(mEditText.getText(), false),
-                                currentEventCount,
-                                singleCharacterHasBeenAdded ? s.charAt(start + before) : null));
-
-                mEventDispatcher.dispatchEvent(
-                        new ReactTextInputEvent(
-                                mEditText.getId(),
-                                newText,
-                                oldText,
-                                start,
-                                start + before));
+                Character mostRecentChar = singleCharacterHasBeenAdded ? s.charAt(start + before) : null;
+                // Sent once the other watchers are done with the change, e.g. Aztec applying the toggled formats
+                mEditText.queueTextChangedEvent(start, oldText, newText, s.length(), currentEventCount,
+                        mostRecentChar);
             }
 
 
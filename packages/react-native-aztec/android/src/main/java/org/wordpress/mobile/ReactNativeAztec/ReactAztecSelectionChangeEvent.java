@@ -1,5 +1,7 @@
 package org.wordpress.mobile.ReactNativeAztec;
 
+import androidx.annotation.Nullable;
+
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
@@ -8,22 +10,39 @@ import com.facebook.react.uimanager.events.RCTEventEmitter;
 
 /**
  * Event emitted by Aztec native view when selection changes.
+ *
+ * The text is optional: the revision of the text lets JS find out whether it has to ask for it, see
+ * {@link ReactAztecText#getTextRevision()}. JS never has to ask for the text it set itself, so the event also tells
+ * whether the text is still the one last set from JS, whose revision JS can't know otherwise.
+ *
+ * Selection changes queued for the same view are coalesced, and the one with the latest event count is kept: it
+ * carries the latest text as well, so JS only needs to handle that one. Like for the text changes, the coalescing key
+ * changes after a text change that can't be coalesced, so that a selection change doesn't take the place of an older
+ * one queued before it.
  */
 class ReactAztecSelectionChangeEvent extends Event<ReactAztecSelectionChangeEvent> {
 
     private static final String EVENT_NAME = "topSelectionChange";
 
-    private String mText;
+    private @Nullable String mText;
+    private int mTextRevision;
+    private boolean mIsTextSetFromJS;
     private int mSelectionStart;
     private int mSelectionEnd;
     private int mEventCount;
+    private short mCoalescingKey;
 
-    public ReactAztecSelectionChangeEvent(int viewId, String text, int selectionStart, int selectionEnd, int eventCount) {
+    public ReactAztecSelectionChangeEvent(int viewId, @Nullable String text, int textRevision,
+                                          boolean isTextSetFromJS, int selectionStart, int selectionEnd,
+                                          int eventCount, short coalescingKey) {
         super(viewId);
         mText = text;
+        mTextRevision = textRevision;
+        mIsTextSetFromJS = isTextSetFromJS;
         mSelectionStart = selectionStart;
         mSelectionEnd = selectionEnd;
         mEventCount = eventCount;
+        mCoalescingKey = coalescingKey;
     }
 
     @Override
@@ -33,7 +52,17 @@ class ReactAztecSelectionChangeEvent extends Event<ReactAztecSelectionChangeEven
 
     @Override
     public boolean canCoalesce() {
-        return false;
+        return true;
+    }
+
+    @Override
+    public short getCoalescingKey() {
+        return mCoalescingKey;
+    }
+
+    @Override
+    public ReactAztecSelectionChangeEvent coalesce(ReactAztecSelectionChangeEvent otherEvent) {
+        return mEventCount >= otherEvent.mEventCount ? this : otherEvent;
     }
 
     @Override
@@ -44,7 +73,11 @@ class ReactAztecSelectionChangeEvent extends Event<ReactAztecSelectionChangeEven
     private WritableMap serializeEventData() {
         WritableMap eventData = Arguments.createMap();
         eventData.putInt("target", getViewTag());
-        eventData.putString("text", mText);
+        if (mText != null) {
+            eventData.putString("text", mText);
+        }
+        eventData.putInt("revision", mTextRevision);
+        eventData.putBoolean("isTextSetFromJS", mIsTextSetFromJS);
         eventData.putInt("selectionStart", mSelectionStart);
         eventData.putInt("selectionEnd", mSelectionEnd);
         eventData.putInt("eventCount", mEventCount);
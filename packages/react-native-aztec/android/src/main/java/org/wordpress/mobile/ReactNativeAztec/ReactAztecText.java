@@ -14,7 +14,11 @@ import android.os.Handler;
 import android.os.Looper;
 import android.text.Editable;
 import android.text.InputType;
+import android.text.NoCopySpan;
+import android.text.Selection;
+import android.text.SpanWatcher;
 import android.text.Spannable;
+import android.text.Spanned;
 import android.text.TextUtils;
 import android.text.TextWatcher;
 import android.view.View;
@@ -31,6 +35,7 @@ import com.facebook.react.uimanager.ThemedReactContext;
 import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.react.views.textinput.ContentSizeWatcher;
+import com.facebook.react.views.textinput.ReactTextInputEvent;
 import com.facebook.react.views.textinput.ReactTextInputLocalData;
 import com.facebook.react.views.textinput.ScrollWatcher;
 
@@ -41,6 +46,8 @@ import org.wordpress.aztec.AztecTextFormat;
 import org.wordpress.aztec.ITextFormat;
 import org.wordpress.aztec.plugins.IAztecPlugin;
 import org.wordpress.aztec.plugins.IToolbarButton;
+import org.wordpress.aztec.spans.IAztecInlineSpan;
+import org.wordpress.mobile.ReactNativeAztec.AztecReactTextChangedEvent.TextDelta;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -71,6 +78,33 @@ public class ReactAztecText extends AztecText {
     // check when it's used in EditText in RN. (maybe tests?)
     private int mNativeEventCount = 0;           //  \ Using two distinct counters to avoid race conditions,
     private int mEventCountSyncFromJS = 0; //  / each side is responsible for bumping the respective counter.
+    // Key of the text and selection changed events that can be coalesced, see AztecReactTextChangedEvent
+    private short mTextChangesCoalescingKey = 0;
+    // Changes of the text whose events are sent once all the watchers are done with them, along with the selection
+    // changes made meanwhile
+    private final ArrayList<QueuedTextChange> mQueuedTextChanges = new ArrayList<>();
+    private boolean mHasQueuedSelectionChange = false;
+    private final Runnable mDispatchQueuedTextChanges = new Runnable() {
+        @Override
+        public void run() {
+            dispatchQueuedTextChanges();
+        }
+    };
+
+    // Cache of the HTML of the text, shared by all the events sent for the same edit. The revision is bumped by any
+    // change of the text or its spans, apart from the selection and the composing region of the keyboard.
+    private final HtmlCacheInvalidator mHtmlCacheInvalidator = new HtmlCacheInvalidator();
+    private int mTextRevision = 0;
+    private int mCachedHtmlRevision = -1;
+    private @Nullable String mCachedHtml;
+    // Revision of the text right after it was last set from JS, while it stays the same JS already has the text
+    private int mTextRevisionSetFromJS = -1;
+
+    // Formats supported by the text deltas, by bit of their mask. Every TEXT_DELTA_CHECKSUM_INTERVAL deltas, the
+    // checksum of the text is sent along so that JS can find out that the value it patched diverged.
+    private static final String[] DELTA_FORMATS = {"bold", "italic", "strikethrough"};
+    private static final int TEXT_DELTA_CHECKSUM_INTERVAL = 10;
+    private int mTextDeltasSinceChecksum = 0;
 
     String lastSentFormattingOptionsEventString = "";
     boolean shouldHandleOnEnter = false;
@@ -78,6 +112,8 @@ public class ReactAztecText extends AztecText {
     boolean shouldHandleOnPaste = false;
     boolean shouldHandleOnSelectionChange = false;
     boolean shouldHandleActiveFormatsChange = false;
+    boolean shouldSendTextDeltas = false;
+    boolean shouldSendSelectionChangesWithoutText = false;
 
     boolean shouldDeleteEnter = false;
 
@@ -122,7 +158,7 @@ public class ReactAztecText extends AztecText {
             @Override
             public boolean onBackspaceKey() {
                 if (shouldHandleOnBackspace && !isTextChangedListenerDisabled()) {
-                    String content = toHtml(getText(), false);
+                    String content = toCachedHtml();
                     if (TextUtils.isEmpty(content)) {
                         return onBackspace();
                     }
@@ -401,11 +437,18 @@ public class ReactAztecText extends AztecText {
         if (!shouldHandleOnSelectionChange) {
             return;
         }
-        String content = toHtml(getText(), false);
+        if (!mQueuedTextChanges.isEmpty()) {
+            // Sent after the text changes, with the revision they bring JS to
+            mHasQueuedSelectionChange = true;
+            return;
+        }
+        String content = shouldSendSelectionChangesWithoutText ? null : toCachedHtml();
+        int revision = getTextRevision();
         ReactContext reactContext = (ReactContext) getContext();
         EventDispatcher eventDispatcher = reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher();
         eventDispatcher.dispatchEvent(
-                new ReactAztecSelectionChangeEvent(getId(), content, selStart, selEnd, incrementAndGetEventCounter())
+                new ReactAztecSelectionChangeEvent(getId(), content, revision, revision == mTextRevisionSetFromJS,
+                        selStart, selEnd, incrementAndGetEventCounter(), mTextChangesCoalescingKey)
         );
     }
 
@@ -421,6 +464,212 @@ public class ReactAztecText extends AztecText {
         uiManager.setViewLocalData(getId(), localData);
     }
 
+    //// HTML cache
+
+    /**
+     * @return the HTML of the text, serialized only if the text or its formatting changed since the last call
+     */
+    public String toCachedHtml() {
+        Editable text = getText();
+        attachHtmlCacheInvalidator(text);
+        if (mCachedHtml == null || mCachedHtmlRevision != mTextRevision) {
+            int revision = mTextRevision;
+            String html = toHtml(text, false);
+            // Don't keep the HTML if the text was changed while serializing it
+            if (revision != mTextRevision) {
+                return html;
+            }
+            mCachedHtml = html;
+            mCachedHtmlRevision = revision;
+        }
+        return mCachedHtml;
+    }
+
+    /**
+     * @return a number that changes whenever the HTML of the text may have changed
+     */
+    public int getTextRevision() {
+        attachHtmlCacheInvalidator(getText());
+        return mTextRevision;
+    }
+
+    private void attachHtmlCacheInvalidator(Editable text) {
+        if (text.getSpanStart(mHtmlCacheInvalidator) < 0) {
+            // New editable, e.g. after setting the text
+            text.setSpan(mHtmlCacheInvalidator, 0, text.length(),
+                    Spanned.SPAN_INCLUSIVE_INCLUSIVE | Spanned.SPAN_PRIORITY);
+            mTextRevision++;
+        }
+    }
+
+    /**
+     * Attached to the editable with the highest priority, so that the cache is invalidated before any other watcher
+     * can read it. Not copied along with the text, e.g. when Aztec serializes a copy of it.
+     */
+    private class HtmlCacheInvalidator implements TextWatcher, SpanWatcher, NoCopySpan {
+        @Override
+        public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            mTextRevision++;
+        }
+
+        @Override
+        public void onTextChanged(CharSequence s, int start, int before, int count) {
+            mTextRevision++;
+        }
+
+        @Override
+        public void afterTextChanged(Editable s) {
+        }
+
+        @Override
+        public void onSpanAdded(Spannable text, Object what, int start, int end) {
+            onSpanChanged(text, what);
+        }
+
+        @Override
+        public void onSpanRemoved(Spannable text, Object what, int start, int end) {
+            onSpanChanged(text, what);
+        }
+
+        @Override
+        public void onSpanChanged(Spannable text, Object what, int ostart, int oend, int nstart, int nend) {
+            onSpanChanged(text, what);
+        }
+
+        private void onSpanChanged(Spannable text, Object what) {
+            if (what == Selection.SELECTION_START || what == Selection.SELECTION_END || what == this
+                || (text.getSpanFlags(what) & Spanned.SPAN_COMPOSING) != 0) {
+                return;
+            }
+            mTextRevision++;
+        }
+    }
+
+    //// Text deltas
+
+    /**
+     * @return the change of the text as a delta on its plain text, or null if JS can't apply it without the HTML,
+     * e.g. the text up to the change contains line breaks or objects, or the inserted text isn't formatted uniformly
+     * with bold, italic and strikethrough only
+     */
+    @Nullable
+    TextDelta getTextDelta(int start, String removedText, String insertedText) {
+        Editable text = getText();
+        int end = start + insertedText.length();
+        if (containsUnsupportedDeltaCharacter(removedText, removedText.length())
+            || containsUnsupportedDeltaCharacter(text, end)) {
+            return null;
+        }
+
+        int formatsMask = 0;
+        if (end > start) {
+            for (IAztecInlineSpan span : text.getSpans(start, end, IAztecInlineSpan.class)) {
+                int spanStart = text.getSpanStart(span);
+                int spanEnd = text.getSpanEnd(span);
+                if (spanEnd <= start || spanStart >= end) {
+                    // Only adjacent to the inserted text
+                    continue;
+                }
+                int formatMask = getDeltaFormatMask(span);
+                if (formatMask == 0 || spanStart > start || spanEnd < end) {
+                    return null;
+                }
+                formatsMask |= formatMask;
+            }
+        }
+
+        ArrayList<String> formats = new ArrayList<>();
+        for (int i = 0; i < DELTA_FORMATS.length; i++) {
+            if ((formatsMask & (1 << i)) != 0) {
+                formats.add(DELTA_FORMATS[i]);
+            }
+        }
+
+        Integer checksum = null;
+        if (++mTextDeltasSinceChecksum >= TEXT_DELTA_CHECKSUM_INTERVAL) {
+            mTextDeltasSinceChecksum = 0;
+            checksum = getTextChecksum(text);
+        }
+        return new TextDelta(start, start + removedText.length(), insertedText.replace('\u00A0', ' '), formats,
+                checksum);
+    }
+
+    /**
+     * Sends the HTML of the text, e.g. when JS found that the value it patched with the deltas diverged.
+     */
+    public void requestTextSync() {
+        // Keep the queued changes ahead of the HTML
+        dispatchQueuedTextChanges();
+        mTextDeltasSinceChecksum = 0;
+        ReactContext reactContext = (ReactContext) getContext();
+        EventDispatcher eventDispatcher = reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher();
+        dispatchTextChangedEvent(eventDispatcher, toCachedHtml(), incrementAndGetEventCounter(), null, null);
+    }
+
+    private static boolean containsUnsupportedDeltaCharacter(CharSequence text, int end) {
+        for (int i = 0; i < end; i++) {
+            switch (text.charAt(i)) {
+                case '\n':
+                case '\uFFFC': // Object replacement character, e.g. images and horizontal rules
+                case '\u200B': // Zero width space, used by Aztec as the end of buffer marker
+                case '\u200D': // Zero width joiner
+                case '\uFEFF': // Zero width no-break space, used by JS as the placeholder of empty values
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the bit of the format of the span in {@link #DELTA_FORMATS}, or 0 if it isn't supported in deltas
+     */
+    private static int getDeltaFormatMask(IAztecInlineSpan span) {
+        if (span.getAttributes().getLength() > 0) {
+            return 0;
+        }
+        switch (span.getTAG()) {
+            case "b":
+            case "strong":
+                return 1;
+            case "i":
+            case "em":
+                return 1 << 1;
+            case "s":
+            case "del":
+            case "strike":
+                return 1 << 2;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Hash of the plain text and its delta formats, matching the one computed by the RichText component. The end of
+     * buffer markers are skipped, and non-breaking spaces are hashed as spaces since JS stores them unescaped.
+     */
+    private static int getTextChecksum(Spanned text) {
+        int checksum = 0;
+        int next;
+        for (int runStart = 0; runStart < text.length(); runStart = next) {
+            next = text.nextSpanTransition(runStart, text.length(), IAztecInlineSpan.class);
+            int formatsMask = 0;
+            for (IAztecInlineSpan span : text.getSpans(runStart, next, IAztecInlineSpan.class)) {
+                if (text.getSpanStart(span) <= runStart && text.getSpanEnd(span) >= next) {
+                    formatsMask |= getDeltaFormatMask(span);
+                }
+            }
+            for (int i = runStart; i < next; i++) {
+                char c = text.charAt(i);
+                if (c == '\u200B') {
+                    continue;
+                }
+                checksum = 31 * checksum + (c == '\u00A0' ? ' ' : c);
+                checksum = 31 * checksum + formatsMask;
+            }
+        }
+        return checksum;
+    }
+
     //// Text changed events
 
     public int getEventCounter() {
@@ -442,6 +691,90 @@ public class ReactAztecText extends AztecText {
         return ++mNativeEventCount;
     }
 
+    private static class QueuedTextChange {
+        final int mStart;
+        final String mRemovedText;
+        final String mInsertedText;
+        final int mTextLength;
+        final int mEventCount;
+        @Nullable final Character mMostRecentChar;
+
+        QueuedTextChange(int start, String removedText, String insertedText, int textLength, int eventCount,
+                         @Nullable Character mostRecentChar) {
+            mStart = start;
+            mRemovedText = removedText;
+            mInsertedText = insertedText;
+            mTextLength = textLength;
+            mEventCount = eventCount;
+            mMostRecentChar = mostRecentChar;
+        }
+
+        /**
+         * @return whether the text still has the inserted text in place, i.e. no other change was made since
+         */
+        boolean isCurrent(CharSequence text) {
+            return text.length() == mTextLength && mStart + mInsertedText.length() <= text.length()
+                   && TextUtils.equals(text.subSequence(mStart, mStart + mInsertedText.length()), mInsertedText);
+        }
+    }
+
+    /**
+     * Queues the events of a change of the text, sent once all the text and span watchers are done with it. The
+     * delta then includes the formatting Aztec applies after the change, e.g. the formats toggled before typing, and
+     * the revision sent along counts all the span changes made by the change, e.g. spans moved or extended over the
+     * inserted text.
+     *
+     * @param textLength length of the text right after the change
+     */
+    void queueTextChangedEvent(int start, String removedText, String insertedText, int textLength, int eventCount,
+                               @Nullable Character mostRecentChar) {
+        if (mQueuedTextChanges.isEmpty()) {
+            // The span watchers are notified after the text watchers, once the text is changed
+            post(mDispatchQueuedTextChanges);
+        }
+        mQueuedTextChanges.add(new QueuedTextChange(start, removedText, insertedText, textLength, eventCount,
+                mostRecentChar));
+    }
+
+    private void dispatchQueuedTextChanges() {
+        removeCallbacks(mDispatchQueuedTextChanges);
+        if (mQueuedTextChanges.isEmpty()) {
+            return;
+        }
+        ArrayList<QueuedTextChange> changes = new ArrayList<>(mQueuedTextChanges);
+        mQueuedTextChanges.clear();
+
+        ReactContext reactContext = (ReactContext) getContext();
+        EventDispatcher eventDispatcher = reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher();
+        // A delta can't describe changes made along with others, their events carry the HTML instead
+        boolean canSendDelta = shouldSendTextDeltas && changes.size() == 1 && changes.get(0).isCurrent(getText());
+        for (QueuedTextChange change : changes) {
+            TextDelta delta = canSendDelta
+                    ? getTextDelta(change.mStart, change.mRemovedText, change.mInsertedText) : null;
+            // The event that contains the event counter and updates it must be sent first.
+            // TODO: t7936714 merge these events
+            dispatchTextChangedEvent(eventDispatcher, delta == null ? toCachedHtml() : null, change.mEventCount,
+                    change.mMostRecentChar, delta);
+            eventDispatcher.dispatchEvent(new ReactTextInputEvent(getId(), change.mInsertedText,
+                    change.mRemovedText, change.mStart, change.mStart + change.mRemovedText.length()));
+        }
+        if (mHasQueuedSelectionChange) {
+            mHasQueuedSelectionChange = false;
+            propagateSelectionChanges(getSelectionStart(), getSelectionEnd());
+        }
+    }
+
+    void dispatchTextChangedEvent(EventDispatcher eventDispatcher, @Nullable String html, int eventCount,
+                                  @Nullable Character mostRecentChar, @Nullable TextDelta delta) {
+        AztecReactTextChangedEvent event = new AztecReactTextChangedEvent(getId(), html, eventCount, mostRecentChar,
+                delta, mTextChangesCoalescingKey, getTextRevision());
+        eventDispatcher.dispatchEvent(event);
+        if (!event.canCoalesce()) {
+            // The next changes must not take the place of the ones queued before this one
+            mTextChangesCoalescingKey++;
+        }
+    }
+
     @Override
     public void addTextChangedListener(TextWatcher watcher) {
         if (mListeners == null) {
@@ -483,11 +816,15 @@ public class ReactAztecText extends AztecText {
 
     public void setIsSettingTextFromJS(boolean mIsSettingTextFromJS) {
         this.mIsSettingTextFromJS = mIsSettingTextFromJS;
+        if (!mIsSettingTextFromJS) {
+            mTextRevisionSetFromJS = getTextRevision();
+        }
     }
 
     private boolean onEnter(Spannable text, boolean firedAfterTextChanged, int selStart, int selEnd) {
         disableTextChangedListener();
-        String content = toHtml(text, false);
+        // The text given by the Enter watcher can be a copy of the content without the Enter
+        String content = text == getText() ? toCachedHtml() : toHtml(text, false);
         int cursorPositionStart = firedAfterTextChanged ? selStart : getSelectionStart();
         int cursorPositionEnd = firedAfterTextChanged ? selEnd : getSelectionEnd();
         enableTextChangedListener();
@@ -509,7 +846,7 @@ public class ReactAztecText extends AztecText {
         }
 
         disableTextChangedListener();
-        String content = toHtml(getText(), false);
+        String content = toCachedHtml();
         enableTextChangedListener();
         ReactContext reactContext = (ReactContext) getContext();
         EventDispatcher eventDispatcher = reactContext.getNativeModule(UIManagerModule.class).getEventDispatcher();
@@ -551,7 +888,7 @@ public class ReactAztecText extends AztecText {
 
         // temporarily disable listener during call to toHtml()
         disableTextChangedListener();
-        String content = toHtml(getText(), false);
+        String content = toCachedHtml();
         int cursorPositionStart = getSelectionStart();
         int cursorPositionEnd = getSelectionEnd();
         enableTextChangedListener();
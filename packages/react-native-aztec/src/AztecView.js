@@ -83,6 +83,15 @@ class AztecView extends Component {
 		this.dispatch( AztecManager.Commands.returnHTMLWithCursor );
 	}
 
+	/**
+	 * Asks the native side to send the HTML of the text in an `onChange` event,
+	 * e.g. when the value patched with the text deltas diverged from it.
+	 * Only supported on Android, along with the `deltaTextChanges` prop.
+	 */
+	requestTextSync() {
+		this.dispatch( 'requestTextSync' );
+	}
+
 	_onContentSizeChange( event ) {
 		this.updateCaretData( event );
 
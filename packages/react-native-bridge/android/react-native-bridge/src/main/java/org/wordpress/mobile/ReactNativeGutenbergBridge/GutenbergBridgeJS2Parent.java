@@ -170,6 +170,8 @@ public interface GutenbergBridgeJS2Parent extends RequestExecutor {
 
     void setBlockTypeImpressions(ReadableMap impressions);
 
+    void incrementBlockTypeImpressions(ReadableMap increments);
+
     void requestContactCustomerSupport();
 
     void requestGotoCustomerSupportOptions();
@@ -182,5 +184,11 @@ public interface GutenbergBridgeJS2Parent extends RequestExecutor {
 
     void requestConnectionStatus(ConnectionStatusCallback connectionStatusCallback);
 
+    String getInitialContent(String handle);
+
+    String getTranslations(String handle);
+
+    ReadableArray querySuggestions(String type, String prefix, int limit);
+
     void logException(GutenbergJsException exception, LogExceptionCallback logExceptionCallback);
 }
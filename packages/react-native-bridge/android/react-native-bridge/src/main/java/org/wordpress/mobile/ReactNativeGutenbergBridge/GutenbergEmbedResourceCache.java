@@ -0,0 +1,109 @@
+package org.wordpress.mobile.ReactNativeGutenbergBridge;
+
+import android.net.Uri;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergWebViewResourceCache.Resource;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory cache of the scripts and styles of the embed providers (e.g. the widgets script of a social network),
+ * used by {@link GutenbergEmbedWebViewActivity} so that previewing embeds of a provider only downloads them once
+ * per process. The resources are grouped by provider, and the least recently used providers are evicted past
+ * {@link #MAX_SIZE_BYTES}. Resources the provider doesn't allow to be stored or shared are served without being
+ * cached.
+ */
+final class GutenbergEmbedResourceCache {
+    private static final int MAX_SIZE_BYTES = 8 * 1024 * 1024;
+
+    // Resources by URL, by provider host, in access order
+    private static final LinkedHashMap<String, Map<String, Resource>> sProviders =
+            new LinkedHashMap<>(16, 0.75f, true);
+    private static int sSize;
+
+    private GutenbergEmbedResourceCache() {
+    }
+
+    /**
+     * @return the cached resource, downloading it first if needed, or null if the request isn't for a script or a
+     * style of a provider or it can't be downloaded, in which case the WebView loads it itself
+     */
+    @Nullable
+    @WorkerThread
+    static WebResourceResponse intercept(WebResourceRequest request) {
+        Uri uri = request.getUrl();
+        String provider = uri.getHost();
+        String path = uri.getPath();
+        if (!"GET".equals(request.getMethod()) || !"https".equals(uri.getScheme()) || provider == null
+            || path == null || !(path.endsWith(".js") || path.endsWith(".css"))) {
+            return null;
+        }
+
+        String url = uri.toString();
+        Resource resource = get(provider, url);
+        if (resource == null) {
+            resource = GutenbergWebViewResourceCache.fetch(url, request.getRequestHeaders());
+            if (resource == null) {
+                return null;
+            }
+            if (isCacheable(resource)) {
+                put(provider, url, resource);
+            }
+        }
+        return resource.toResponse();
+    }
+
+    private static boolean isCacheable(Resource resource) {
+        String cacheControl = resource.mHeaders.get(GutenbergWebViewResourceCache.HEADER_CACHE_CONTROL);
+        if (cacheControl == null) {
+            return true;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String name = directive.trim().toLowerCase(Locale.ROOT);
+            if (name.equals("no-store") || name.equals("private") || name.startsWith("private=")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static synchronized Resource get(String provider, String url) {
+        Map<String, Resource> resources = sProviders.get(provider);
+        return resources != null ? resources.get(url) : null;
+    }
+
+    private static synchronized void put(String provider, String url, Resource resource) {
+        if (resource.mContent.length > MAX_SIZE_BYTES) {
+            return;
+        }
+
+        Map<String, Resource> resources = sProviders.get(provider);
+        if (resources == null) {
+            resources = new HashMap<>();
+            sProviders.put(provider, resources);
+        }
+        Resource previous = resources.put(url, resource);
+        sSize += resource.mContent.length - (previous != null ? previous.mContent.length : 0);
+
+        Iterator<Map<String, Resource>> leastRecentlyUsed = sProviders.values().iterator();
+        while (sSize > MAX_SIZE_BYTES && leastRecentlyUsed.hasNext()) {
+            Map<String, Resource> evicted = leastRecentlyUsed.next();
+            if (evicted == resources) {
+                continue;
+            }
+            for (Resource evictedResource : evicted.values()) {
+                sSize -= evictedResource.mContent.length;
+            }
+            leastRecentlyUsed.remove();
+        }
+    }
+}
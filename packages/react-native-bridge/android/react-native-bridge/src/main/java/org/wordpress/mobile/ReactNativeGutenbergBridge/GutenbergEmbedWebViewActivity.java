@@ -1,12 +1,17 @@
 package org.wordpress.mobile.ReactNativeGutenbergBridge;
 
 import android.annotation.SuppressLint;
+import android.content.MutableContextWrapper;
 import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.os.Handler;
+import android.text.TextUtils;
 import android.view.MenuItem;
 import android.view.View;
+import android.view.ViewGroup;
 import android.webkit.WebChromeClient;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebSettings;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
@@ -24,9 +29,15 @@ public class GutenbergEmbedWebViewActivity extends AppCompatActivity {
     public static final String ARG_TITLE = "title";
     private static final String JAVA_SCRIPT_INTERFACE_NAME = "wpwebkit";
 
+    // WebView kept between previews, with the activity class and the key of what it last loaded
+    private static WebView sRetainedWebView;
+    private static Class<?> sRetainedWebViewActivityClass;
+    private static String sRetainedWebViewContent;
+
     protected WebView mWebView;
 
     private ProgressBar mProgressBar;
+    private EmbedWebViewClient mWebViewClient;
     private AtomicBoolean mIsWebPageLoaded = new AtomicBoolean(false);
     private final Handler mWebPageLoadedHandler = new Handler();
     private final Runnable mWebPageLoadedRunnable = new Runnable() {
@@ -44,7 +55,11 @@ public class GutenbergEmbedWebViewActivity extends AppCompatActivity {
 
         setupToolbar();
 
-        mWebView = findViewById(R.id.embed_web_view);
+        String content = getLoadedContentKey();
+        boolean isContentLoaded = sRetainedWebView != null && content != null
+                                  && getClass() == sRetainedWebViewActivityClass
+                                  && TextUtils.equals(content, sRetainedWebViewContent);
+        mWebView = adoptRetainedWebView(findViewById(R.id.embed_web_view));
 
         mProgressBar = findViewById(R.id.progress_bar);
 
@@ -53,7 +68,8 @@ public class GutenbergEmbedWebViewActivity extends AppCompatActivity {
         settings.setJavaScriptEnabled(true);
 
         // Setup WebView client
-        setupWebViewClient();
+        mWebViewClient = new EmbedWebViewClient();
+        mWebView.setWebViewClient(mWebViewClient);
 
         // Setup Web Chrome client
         mWebView.setWebChromeClient(new WebChromeClient() {
@@ -72,7 +88,67 @@ public class GutenbergEmbedWebViewActivity extends AppCompatActivity {
             }
         });
 
-        load();
+        if (isContentLoaded) {
+            // Previewing the same embed again
+            mProgressBar.setVisibility(View.GONE);
+        } else {
+            load();
+            sRetainedWebViewContent = content;
+        }
+        sRetainedWebViewActivityClass = getClass();
+    }
+
+    /**
+     * Replaces the WebView of the layout with the one retained from the previous preview, or with a new one that can
+     * be retained after this preview.
+     */
+    private WebView adoptRetainedWebView(WebView layoutWebView) {
+        WebView webView = sRetainedWebView;
+        sRetainedWebView = null;
+        if (webView != null) {
+            ((MutableContextWrapper) webView.getContext()).setBaseContext(this);
+            webView.onResume();
+        } else {
+            webView = new WebView(new MutableContextWrapper(this));
+            sRetainedWebViewContent = null;
+        }
+
+        ViewGroup parent = (ViewGroup) layoutWebView.getParent();
+        int index = parent.indexOfChild(layoutWebView);
+        parent.removeViewAt(index);
+        webView.setId(layoutWebView.getId());
+        parent.addView(webView, index, layoutWebView.getLayoutParams());
+        layoutWebView.destroy();
+        return webView;
+    }
+
+    private void retainWebView() {
+        ViewGroup parent = (ViewGroup) mWebView.getParent();
+        if (parent != null) {
+            parent.removeView(mWebView);
+        }
+        mWebView.setWebChromeClient(null);
+        if (sRetainedWebView != null) {
+            mWebView.destroy();
+            return;
+        }
+        if (mWebViewClient.mHasNavigated) {
+            // The page no longer shows the content
+            sRetainedWebViewContent = null;
+        }
+        // Stops the media of the embed while it isn't shown
+        mWebView.onPause();
+        ((MutableContextWrapper) mWebView.getContext()).setBaseContext(getApplicationContext());
+        sRetainedWebView = mWebView;
+    }
+
+    /**
+     * @return the key of what {@link #load} loads, so that previewing it again reuses the retained WebView without
+     * loading it again, or null to always load it. Subclasses overriding {@link #load} should override this too.
+     */
+    @Nullable
+    protected String getLoadedContentKey() {
+        return getIntent().getExtras().getString(ARG_CONTENT);
     }
 
     protected void load() {
@@ -117,17 +193,32 @@ public class GutenbergEmbedWebViewActivity extends AppCompatActivity {
         return super.onOptionsItemSelected(item);
     }
 
-    private void setupWebViewClient() {
-        mWebView.setWebViewClient(new WebViewClient() {
-            @Override
-            public void onPageStarted(WebView view, String url, Bitmap favicon) {
-                // Center the embed with a black background;
-                String css = "body{margin:0;background:#000;display:flex;align-items:center;}";
-                String js = String.format("(()=>{const c='%s';const s=document.createElement('style');s.textContent=c;document.head.append(s);})()", css);
-                view.evaluateJavascript(js, null);
-                super.onPageStarted(view, url, favicon);
-            }
-        });
+    /**
+     * Doesn't reference the activity, so that the WebView can be retained once the activity is destroyed.
+     */
+    private static class EmbedWebViewClient extends WebViewClient {
+        private boolean mHasNavigated;
+
+        @Override
+        public boolean shouldOverrideUrlLoading(WebView view, WebResourceRequest request) {
+            mHasNavigated = true;
+            return super.shouldOverrideUrlLoading(view, request);
+        }
+
+        @Override
+        public void onPageStarted(WebView view, String url, Bitmap favicon) {
+            // Center the embed with a black background;
+            String css = "body{margin:0;background:#000;display:flex;align-items:center;}";
+            String js = String.format("(()=>{const c='%s';const s=document.createElement('style');s.textContent=c;document.head.append(s);})()", css);
+            view.evaluateJavascript(js, null);
+            super.onPageStarted(view, url, favicon);
+        }
+
+        @Override
+        public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+            WebResourceResponse response = GutenbergEmbedResourceCache.intercept(request);
+            return response != null ? response : super.shouldInterceptRequest(view, request);
+        }
     }
 
     @Override
@@ -145,7 +236,6 @@ public class GutenbergEmbedWebViewActivity extends AppCompatActivity {
             mWebView.removeJavascriptInterface(JAVA_SCRIPT_INTERFACE_NAME);
             mWebView.clearHistory();
             mWebView.clearFormData();
-            mWebView.clearCache(true);
             mWebView.clearSslPreferences();
         });
 
@@ -155,6 +245,7 @@ public class GutenbergEmbedWebViewActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         mWebPageLoadedHandler.removeCallbacks(mWebPageLoadedRunnable);
+        retainWebView();
         super.onDestroy();
     }
 }
@@ -4,13 +4,17 @@ import android.annotation.SuppressLint;
 import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.SystemClock;
 import android.view.ActionMode;
 import android.view.Menu;
 import android.view.MenuInflater;
 import android.view.MenuItem;
 import android.view.View;
+import android.view.ViewGroup;
 import android.webkit.CookieManager;
 import android.webkit.JavascriptInterface;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebChromeClient;
 import android.webkit.WebSettings;
 import android.webkit.WebView;
@@ -25,12 +29,17 @@ import androidx.appcompat.app.ActionBar;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 
+import org.json.JSONObject;
 import org.wordpress.android.util.AppLog;
-import org.wordpress.mobile.FileUtils;
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergWebViewAssets.Processing;
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergWebViewResourceCache.Retention;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GutenbergWebViewActivity extends AppCompatActivity {
@@ -45,6 +54,24 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
     private static final String INJECT_ON_SHOW_CONTEXT_MENU_SCRIPT = "window.onShowContextMenu();";
     private static final String INJECT_ON_HIDE_CONTEXT_MENU_SCRIPT = "window.onHideContextMenu();";
     private static final String JAVA_SCRIPT_INTERFACE_NAME = "wpwebkit";
+    private static final String RECEIVE_BLOCK_CONTENT_CHUNK_SCRIPT = "window.receiveBlockContentChunk(%s);";
+    private static final String INSERT_RECEIVED_BLOCK_CONTENT_SCRIPT = "window.insertReceivedBlockContent();";
+    // Keeps each evaluateJavascript call well below the WebView IPC limits
+    private static final int BLOCK_CONTENT_CHUNK_LENGTH = 256 * 1024;
+
+    // Fallbacks for the signals sent by the injected scripts through WPWebKit
+    private static final long DOM_READY_TIMEOUT_MS = 1500;
+    private static final long GUTENBERG_READY_SCRIPTS_TIMEOUT_MS = 2000;
+    private static final long NUX_DISMISSED_TIMEOUT_MS = 1500;
+
+    // Loading phases, timed from the creation of the activity
+    public static final String PHASE_PAGE_STARTED = "page_started";
+    public static final String PHASE_DOM_READY = "dom_ready";
+    public static final String PHASE_PAGE_LOADED = "page_loaded";
+    public static final String PHASE_GUTENBERG_READY = "gutenberg_ready";
+    public static final String PHASE_BLOCK_INSERTED = "block_inserted";
+    public static final String PHASE_NUX_DISMISSED = "nux_dismissed";
+    public static final String PHASE_EDITOR_SHOWN = "editor_shown";
 
     protected WebView mWebView;
     protected LinearLayout mForegroundView;
@@ -55,22 +82,25 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
     protected ActionMode mActionMode = null;
 
     private ProgressBar mProgressBar;
+    private GutenbergWebViewResourceCache mResourceCache;
     private boolean mIsGutenbergReady;
+    private boolean mIsInjectingGutenbergReadyScripts;
     private AtomicBoolean mIsWebPageLoaded = new AtomicBoolean(false);
     private AtomicBoolean mIsBlockContentInserted = new AtomicBoolean(false);
+    private final long mCreatedAt = SystemClock.elapsedRealtime();
+    private final Map<String, Long> mPhaseTimings = new LinkedHashMap<>();
     private final Handler mWebPageLoadedHandler = new Handler();
+    private final Runnable mGutenbergReadyScriptsRunnable = this::onGutenbergReadyScriptsInjected;
+    private final Runnable mShowEditorRunnable = this::showEditor;
     private final Runnable mWebPageLoadedRunnable = new Runnable() {
         @Override public void run() {
             if (!mIsWebPageLoaded.getAndSet(true)) {
+                markPhase(PHASE_PAGE_LOADED);
                 mProgressBar.setVisibility(View.GONE);
                 // We want to insert block content
                 // only if gutenberg is ready
                 if (mIsGutenbergReady) {
-                    final Handler handler = new Handler();
-                    handler.postDelayed(() -> {
-                        // Insert block content
-                        insertBlockScript();
-                    }, 200);
+                    insertBlockScript();
                 } else {
                     final Handler handler = new Handler();
                     handler.postDelayed(() -> {
@@ -114,7 +144,7 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
 
         setupToolbar();
 
-        mWebView = findViewById(R.id.gutenberg_web_view);
+        mWebView = adoptPooledWebView(findViewById(R.id.gutenberg_web_view));
         mForegroundView = findViewById(R.id.foreground_view);
         mForegroundViewImage = findViewById(R.id.foreground_view_image);
         mForegroundViewTitle = findViewById(R.id.foreground_view_title);
@@ -131,6 +161,8 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
         // Add javascript interface
         mWebView.addJavascriptInterface(new WPWebKit(), JAVA_SCRIPT_INTERFACE_NAME);
 
+        mResourceCache = new GutenbergWebViewResourceCache(getCacheDir());
+
         // Setup WebView client
         setupWebViewClient();
 
@@ -139,8 +171,9 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
             @Override
             public void onProgressChanged(WebView view, int progress) {
                 if (progress == 100) {
+                    // Run earlier if the DOM ready signal arrives before the timeout
                     mWebPageLoadedHandler.removeCallbacks(mWebPageLoadedRunnable);
-                    mWebPageLoadedHandler.postDelayed(mWebPageLoadedRunnable, 1500);
+                    mWebPageLoadedHandler.postDelayed(mWebPageLoadedRunnable, DOM_READY_TIMEOUT_MS);
                 } else {
                     mIsWebPageLoaded.compareAndSet(true, false);
                     if (mProgressBar.getVisibility() == View.GONE) {
@@ -154,6 +187,25 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
         loadUrl();
     }
 
+    /**
+     * Replaces the WebView of the layout with a prewarmed one from {@link GutenbergWebViewPool}, if available.
+     */
+    private WebView adoptPooledWebView(WebView layoutWebView) {
+        WebView pooledWebView = GutenbergWebViewPool.acquire(this);
+        if (pooledWebView == null) {
+            return layoutWebView;
+        }
+
+        ViewGroup parent = (ViewGroup) layoutWebView.getParent();
+        int index = parent.indexOfChild(layoutWebView);
+        parent.removeViewAt(index);
+        pooledWebView.setId(layoutWebView.getId());
+        parent.addView(pooledWebView, index, layoutWebView.getLayoutParams());
+        layoutWebView.destroy();
+        AppLog.d(AppLog.T.EDITOR, "Adopted a prewarmed WebView");
+        return pooledWebView;
+    }
+
     protected void loadUrl() {
         mWebView.loadUrl("https://wordpress.org/gutenberg/");
     }
@@ -225,11 +277,15 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
     }
 
     protected String getFileContentFromAssets(String assetsFileName) {
-        return FileUtils.getHtmlFromFile(this, assetsFileName);
+        return getAsset(assetsFileName, Processing.NONE);
+    }
+
+    private String getAsset(String assetsFileName, Processing processing) {
+        return GutenbergWebViewAssets.get(this, assetsFileName, processing);
     }
 
     private String removeNewLines(String content) {
-        return content.replace("\r\n", " ").replace("\n", " ");
+        return GutenbergWebViewAssets.removeNewLines(content);
     }
 
     private String removeWhiteSpace(String content) {
@@ -250,12 +306,18 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
                 return super.shouldOverrideUrlLoading(view, url);
             }
 
+            @Override
+            public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+                WebResourceResponse response = mResourceCache.intercept(request);
+                return response != null ? response : super.shouldInterceptRequest(view, request);
+            }
+
             @Override
             public void onPageCommitVisible(WebView view, String url) {
                 long userId = getUserId();
                 if (userId != 0) {
-                    String injectLocalStorageScript = getFileContentFromAssets("gutenberg-web-single-block/local-storage-overrides.json");
-                    injectLocalStorageScript = removeWhiteSpace(removeNewLines(injectLocalStorageScript));
+                    String injectLocalStorageScript = getAsset(GutenbergWebViewAssets.LOCAL_STORAGE_OVERRIDES,
+                            Processing.REMOVE_WHITE_SPACE);
 
                     evaluateJavaScript(
                             String.format(
@@ -271,6 +333,7 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
 
             @Override
             public void onPageStarted(WebView view, String url, Bitmap favicon) {
+                markPhase(PHASE_PAGE_STARTED);
                 injectOnPageLoadExternalSources();
                 super.onPageStarted(view, url, favicon);
             }
@@ -284,14 +347,14 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
                     return;
                 }
 
-                String contentFunctions = getFileContentFromAssets("gutenberg-web-single-block/content-functions.js");
-                evaluateJavaScript(contentFunctions);
-
-                String injectGutenbergObserver = getFileContentFromAssets("gutenberg-web-single-block/gutenberg-observer.js");
-                evaluateJavaScript(injectGutenbergObserver);
-
-                String behaviorOverrides = getFileContentFromAssets("gutenberg-web-single-block/editor-behavior-overrides.js");
-                evaluateJavaScript(behaviorOverrides);
+                String pageFinishedBundle = getAsset(GutenbergWebViewAssets.PAGE_FINISHED_BUNDLE, Processing.NONE);
+                if (pageFinishedBundle != null) {
+                    evaluateJavaScript(pageFinishedBundle);
+                } else {
+                    evaluateJavaScript(getAsset(GutenbergWebViewAssets.CONTENT_FUNCTIONS, Processing.NONE));
+                    evaluateJavaScript(getAsset(GutenbergWebViewAssets.GUTENBERG_OBSERVER, Processing.NONE));
+                    evaluateJavaScript(getAsset(GutenbergWebViewAssets.EDITOR_BEHAVIOR_OVERRIDES, Processing.NONE));
+                }
             }
         });
     }
@@ -302,45 +365,85 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
     }
 
     private void onGutenbergReady() {
-        preventAutoSavesScript();
-        // Inject css when Gutenberg is ready
-        injectCssScript();
-        final Handler handler = new Handler();
-        handler.postDelayed(() -> {
-            mIsGutenbergReady = true;
-            // We want to make sure that page is loaded
-            // with all elements before executing external JS
-            injectOnGutenbergReadyExternalSources();
-            // If page is loaded try to insert block content
-            if (mIsWebPageLoaded.get()) {
-                // Insert block content
-                insertBlockScript();
-            }
-            // We need some extra time to hide all unwanted html elements
-            // like NUX (new user experience) modal is.
-            mForegroundView.postDelayed(() -> mForegroundView.setVisibility(LinearLayout.INVISIBLE), 1500);
-        }, 2000);
+        markPhase(PHASE_GUTENBERG_READY);
+        mIsInjectingGutenbergReadyScripts = true;
+        String gutenbergReadyBundle = getAsset(GutenbergWebViewAssets.GUTENBERG_READY_BUNDLE, Processing.NONE);
+        if (gutenbergReadyBundle != null) {
+            // The bundle prevents autosaves and injects our styles, the external styles are appended to the same call
+            mWebView.evaluateJavascript(gutenbergReadyBundle + ";\n" + getExternalCssScript(),
+                    value -> onGutenbergReadyScriptsInjected());
+        } else {
+            preventAutoSavesScript();
+            // Inject css when Gutenberg is ready
+            injectCssScript();
+        }
+        mWebPageLoadedHandler.postDelayed(mGutenbergReadyScriptsRunnable, GUTENBERG_READY_SCRIPTS_TIMEOUT_MS);
+    }
+
+    private void onGutenbergReadyScriptsInjected() {
+        mWebPageLoadedHandler.removeCallbacks(mGutenbergReadyScriptsRunnable);
+        if (!mIsInjectingGutenbergReadyScripts) {
+            return;
+        }
+        mIsInjectingGutenbergReadyScripts = false;
+        mIsGutenbergReady = true;
+        // We want to make sure that page is loaded
+        // with all elements before executing external JS
+        injectOnGutenbergReadyExternalSources();
+        // If page is loaded try to insert block content
+        if (mIsWebPageLoaded.get()) {
+            // Insert block content
+            insertBlockScript();
+        }
+    }
+
+    private void showEditor() {
+        mForegroundView.removeCallbacks(mShowEditorRunnable);
+        if (mForegroundView.getVisibility() == LinearLayout.INVISIBLE) {
+            return;
+        }
+        mForegroundView.setVisibility(LinearLayout.INVISIBLE);
+        markPhase(PHASE_EDITOR_SHOWN);
+        AppLog.i(AppLog.T.EDITOR, "Unsupported block editor loading phases (ms): " + mPhaseTimings);
+        onLoadingPhasesTimed(Collections.unmodifiableMap(mPhaseTimings));
+    }
+
+    private void markPhase(String phase) {
+        if (!mPhaseTimings.containsKey(phase)) {
+            mPhaseTimings.put(phase, SystemClock.elapsedRealtime() - mCreatedAt);
+        }
+    }
+
+    /**
+     * Called once the editor is shown, with the time in milliseconds from the creation of the activity to each of
+     * the loading phases reached. Phases whose signal didn't arrive are missing.
+     */
+    protected void onLoadingPhasesTimed(Map<String, Long> phaseTimings) {
     }
 
     private void injectCssScript() {
-        String injectCssScript = getFileContentFromAssets("gutenberg-web-single-block/inject-css.js");
+        String injectCssScript = getAsset(GutenbergWebViewAssets.INJECT_CSS, Processing.NONE);
         mWebView.evaluateJavascript(injectCssScript, message -> {
             if (message != null) {
-                String editorStyle = getFileContentFromAssets("gutenberg-web-single-block/editor-style-overrides.css");
-                editorStyle = removeNewLines(editorStyle);
+                String editorStyle = getAsset(GutenbergWebViewAssets.EDITOR_STYLE_OVERRIDES,
+                        Processing.REMOVE_NEW_LINES);
                 evaluateJavaScript(String.format(INJECT_CSS_SCRIPT_TEMPLATE, editorStyle, "editor-style-overrides"));
 
-                String injectWPBarsCssScript = getFileContentFromAssets("gutenberg-web-single-block/wp-bar-override.css");
-                injectWPBarsCssScript = removeWhiteSpace(removeNewLines(injectWPBarsCssScript));
+                String injectWPBarsCssScript = getAsset(GutenbergWebViewAssets.WP_BAR_OVERRIDE,
+                        Processing.REMOVE_WHITE_SPACE);
                 evaluateJavaScript(String.format(INJECT_CSS_SCRIPT_TEMPLATE, injectWPBarsCssScript, "wp-bar-override"));
 
-                String injectExternalCssScript = getOnGutenbergReadyExternalStyles();
-                injectExternalCssScript = removeWhiteSpace(removeNewLines(injectExternalCssScript));
-                evaluateJavaScript(String.format(INJECT_CSS_SCRIPT_TEMPLATE, injectExternalCssScript, "external-styles"));
+                evaluateJavaScript(getExternalCssScript());
             }
         });
     }
 
+    private String getExternalCssScript() {
+        String injectExternalCssScript = getOnGutenbergReadyExternalStyles();
+        injectExternalCssScript = removeWhiteSpace(removeNewLines(injectExternalCssScript));
+        return String.format(INJECT_CSS_SCRIPT_TEMPLATE, injectExternalCssScript, "external-styles");
+    }
+
     protected String getOnGutenbergReadyExternalStyles() {
         return new String();
     }
@@ -358,6 +461,7 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
 
     private void injectOnPageLoadExternalSources() {
         List<String> list = getOnPageLoadExternalSources();
+        // One call per source, so that a failing source or clashing top-level declarations don't affect the others
         for (String file : list) {
             evaluateJavaScript(file);
         }
@@ -368,16 +472,28 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
     }
 
     private void preventAutoSavesScript() {
-        String preventAutosaves = getFileContentFromAssets("gutenberg-web-single-block/prevent-autosaves.js");
-        evaluateJavaScript(preventAutosaves);
+        evaluateJavaScript(getAsset(GutenbergWebViewAssets.PREVENT_AUTOSAVES, Processing.NONE));
     }
 
     private void insertBlockScript() {
         if (!mIsBlockContentInserted.getAndSet(true)) {
-            String insertBlock = getFileContentFromAssets("gutenberg-web-single-block/insert-block.js").replace("%@","%s");
-            String blockContent = getIntent().getExtras().getString(ARG_BLOCK_CONTENT);
-            insertBlock = String.format(insertBlock, blockContent);
-            evaluateJavaScript(removeNewLines(insertBlock.replace("\\n", "\\\\n")));
+            String blockContent = getIntent().getExtras().getString(ARG_BLOCK_CONTENT, "");
+            // The content is sent in JSON-escaped chunks, and inserted once all of them are received
+            int start = 0;
+            while (start < blockContent.length()) {
+                int end = Math.min(start + BLOCK_CONTENT_CHUNK_LENGTH, blockContent.length());
+                // Keep surrogate pairs in the same chunk
+                if (end < blockContent.length() && Character.isHighSurrogate(blockContent.charAt(end - 1))) {
+                    end++;
+                }
+                String chunk = JSONObject.quote(blockContent.substring(start, end));
+                mWebView.evaluateJavascript(String.format(RECEIVE_BLOCK_CONTENT_CHUNK_SCRIPT, chunk), null);
+                start = end;
+            }
+            evaluateJavaScript(INSERT_RECEIVED_BLOCK_CONTENT_SCRIPT);
+            // We need some extra time to hide all unwanted html elements
+            // like NUX (new user experience) modal is, unless it's signaled as dismissed
+            mForegroundView.postDelayed(mShowEditorRunnable, NUX_DISMISSED_TIMEOUT_MS);
         }
     }
 
@@ -402,13 +518,27 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
         return 0;
     }
 
+    /**
+     * @return what is kept of the editor resources when the activity finishes, the versioned scripts and styles of
+     * the editor by default
+     */
+    protected Retention getResourceCacheRetention() {
+        return Retention.KEEP_VERSIONED_RESOURCES;
+    }
+
     @Override
     public void finish() {
         runOnUiThread(() -> {
             mWebView.removeJavascriptInterface(JAVA_SCRIPT_INTERFACE_NAME);
             mWebView.clearHistory();
             mWebView.clearFormData();
-            mWebView.clearCache(true);
+            Retention retention = getResourceCacheRetention();
+            if (retention != Retention.KEEP_ALL) {
+                mWebView.clearCache(true);
+            }
+            if (retention == Retention.CLEAR_ON_EXIT) {
+                new Thread(mResourceCache::clear, "GutenbergWebViewResourceCache").start();
+            }
             mWebView.clearSslPreferences();
         });
 
@@ -418,10 +548,14 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         mWebPageLoadedHandler.removeCallbacks(mWebPageLoadedRunnable);
+        mWebPageLoadedHandler.removeCallbacks(mGutenbergReadyScriptsRunnable);
+        mForegroundView.removeCallbacks(mShowEditorRunnable);
         super.onDestroy();
     }
 
     public class WPWebKit {
+        private StringBuilder mReceivedMessage;
+
         @JavascriptInterface
         public void postMessage(String content) {
             if (content != null && content.length() > 0) {
@@ -429,11 +563,63 @@ public class GutenbergWebViewActivity extends AppCompatActivity {
             }
         }
 
+        /**
+         * Starts a message sent in chunks, used for content too large for a single {@link #postMessage} call.
+         */
+        @JavascriptInterface
+        public synchronized void beginMessage(int length) {
+            mReceivedMessage = new StringBuilder(length);
+        }
+
+        @JavascriptInterface
+        public synchronized void postMessageChunk(String chunk) {
+            if (mReceivedMessage == null) {
+                AppLog.e(AppLog.T.EDITOR, "Received a message chunk without the beginning of the message");
+                return;
+            }
+            mReceivedMessage.append(chunk);
+        }
+
+        @JavascriptInterface
+        public void endMessage() {
+            String message;
+            synchronized (this) {
+                if (mReceivedMessage == null) {
+                    return;
+                }
+                message = mReceivedMessage.toString();
+                mReceivedMessage = null;
+            }
+            postMessage(message);
+        }
+
         @JavascriptInterface
         public void gutenbergReady() {
             GutenbergWebViewActivity.this.runOnUiThread(() -> onGutenbergReady());
         }
 
+        @JavascriptInterface
+        public void domReady() {
+            GutenbergWebViewActivity.this.runOnUiThread(() -> {
+                markPhase(PHASE_DOM_READY);
+                mWebPageLoadedHandler.removeCallbacks(mWebPageLoadedRunnable);
+                mWebPageLoadedRunnable.run();
+            });
+        }
+
+        @JavascriptInterface
+        public void blockInserted() {
+            GutenbergWebViewActivity.this.runOnUiThread(() -> markPhase(PHASE_BLOCK_INSERTED));
+        }
+
+        @JavascriptInterface
+        public void nuxDismissed() {
+            GutenbergWebViewActivity.this.runOnUiThread(() -> {
+                markPhase(PHASE_NUX_DISMISSED);
+                showEditor();
+            });
+        }
+
         @JavascriptInterface
         public void hideTextSelectionContextMenu() {
             if (mActionMode != null) {
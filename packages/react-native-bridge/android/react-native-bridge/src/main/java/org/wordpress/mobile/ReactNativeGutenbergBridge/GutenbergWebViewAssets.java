@@ -0,0 +1,100 @@
+package org.wordpress.mobile.ReactNativeGutenbergBridge;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.util.AppLog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wordpress.mobile.FileUtils.getStringFromInputStream;
+
+/**
+ * Process-wide cache of the assets injected by {@link GutenbergWebViewActivity}, kept in the form they are injected
+ * in, so that each asset is read and cleaned up once per process rather than on every page load.
+ */
+public final class GutenbergWebViewAssets {
+    public enum Processing {
+        NONE,
+        // Line breaks replaced by spaces
+        REMOVE_NEW_LINES,
+        // Line breaks and all other whitespace removed
+        REMOVE_WHITE_SPACE
+    }
+
+    static final String LOCAL_STORAGE_OVERRIDES = "gutenberg-web-single-block/local-storage-overrides.json";
+    static final String CONTENT_FUNCTIONS = "gutenberg-web-single-block/content-functions.js";
+    static final String GUTENBERG_OBSERVER = "gutenberg-web-single-block/gutenberg-observer.js";
+    static final String EDITOR_BEHAVIOR_OVERRIDES = "gutenberg-web-single-block/editor-behavior-overrides.js";
+    static final String INJECT_CSS = "gutenberg-web-single-block/inject-css.js";
+    static final String EDITOR_STYLE_OVERRIDES = "gutenberg-web-single-block/editor-style-overrides.css";
+    static final String WP_BAR_OVERRIDE = "gutenberg-web-single-block/wp-bar-override.css";
+    static final String PREVENT_AUTOSAVES = "gutenberg-web-single-block/prevent-autosaves.js";
+    // Generated at build time by the bundleSingleBlockEditorScripts task
+    static final String PAGE_FINISHED_BUNDLE = "gutenberg-web-single-block-bundles/page-finished.js";
+    static final String GUTENBERG_READY_BUNDLE = "gutenberg-web-single-block-bundles/gutenberg-ready.js";
+
+    private static final Map<String, String> sCache = new ConcurrentHashMap<>();
+
+    private GutenbergWebViewAssets() {
+    }
+
+    /**
+     * Loads the assets used by the unsupported block editor on a background thread, e.g. at app start.
+     */
+    public static void preload(Context context) {
+        final Context applicationContext = context.getApplicationContext();
+        new Thread(() -> {
+            get(applicationContext, LOCAL_STORAGE_OVERRIDES, Processing.REMOVE_WHITE_SPACE);
+            get(applicationContext, CONTENT_FUNCTIONS, Processing.NONE);
+            get(applicationContext, GUTENBERG_OBSERVER, Processing.NONE);
+            get(applicationContext, EDITOR_BEHAVIOR_OVERRIDES, Processing.NONE);
+            get(applicationContext, INJECT_CSS, Processing.NONE);
+            get(applicationContext, EDITOR_STYLE_OVERRIDES, Processing.REMOVE_NEW_LINES);
+            get(applicationContext, WP_BAR_OVERRIDE, Processing.REMOVE_WHITE_SPACE);
+            get(applicationContext, PREVENT_AUTOSAVES, Processing.NONE);
+            get(applicationContext, PAGE_FINISHED_BUNDLE, Processing.NONE);
+            get(applicationContext, GUTENBERG_READY_BUNDLE, Processing.NONE);
+        }, "GutenbergWebViewAssets").start();
+    }
+
+    /**
+     * @return the asset after applying the processing, or null if it can't be read
+     */
+    @Nullable
+    public static String get(Context context, String fileName, Processing processing) {
+        String key = processing + ":" + fileName;
+        String content = sCache.get(key);
+        if (content != null) {
+            return content;
+        }
+
+        try (InputStream in = context.getAssets().open(fileName)) {
+            content = process(getStringFromInputStream(in), processing);
+        } catch (IOException e) {
+            AppLog.e(AppLog.T.EDITOR, "Unable to load asset " + fileName + ": " + e.getMessage());
+            return null;
+        }
+        sCache.put(key, content);
+        return content;
+    }
+
+    private static String process(String content, Processing processing) {
+        switch (processing) {
+            case REMOVE_NEW_LINES:
+                return removeNewLines(content);
+            case REMOVE_WHITE_SPACE:
+                return removeNewLines(content).replaceAll("\\s+", "");
+            default:
+                return content;
+        }
+    }
+
+    static String removeNewLines(String content) {
+        return content.replace("\r\n", " ").replace("\n", " ");
+    }
+}
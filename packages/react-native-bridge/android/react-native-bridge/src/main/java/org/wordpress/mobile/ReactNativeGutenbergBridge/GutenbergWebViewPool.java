@@ -0,0 +1,103 @@
+package org.wordpress.mobile.ReactNativeGutenbergBridge;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.os.Looper;
+import android.webkit.WebSettings;
+import android.webkit.WebView;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+
+import org.wordpress.android.util.AppLog;
+
+import java.util.ArrayDeque;
+
+/**
+ * Pool of WebViews created ahead of time for {@link GutenbergWebViewActivity}, so that opening the unsupported block
+ * editor doesn't pay for the creation of the WebView. The pooled WebViews don't load anything: the activity loads its
+ * own URL, so that its clients can inject the scripts along the page lifecycle, and warming up the HTTP cache would
+ * only get in the way of clearing it when the editor finishes.
+ *
+ * The WebViews are created on a {@link MutableContextWrapper} of the application context, and switched to the
+ * activity context when adopted. Once a WebView has been adopted, the pool is refilled to the size of the last
+ * {@link #prewarm} when the main thread is idle.
+ */
+public final class GutenbergWebViewPool {
+    private static final ArrayDeque<WebView> sWebViews = new ArrayDeque<>();
+    @Nullable private static Context sApplicationContext;
+    private static int sSize;
+    private static boolean sIsRefillScheduled;
+
+    private GutenbergWebViewPool() {
+    }
+
+    /**
+     * @param size number of WebViews to keep ready
+     */
+    @MainThread
+    public static void prewarm(Context context, int size) {
+        assertMainThread();
+        sApplicationContext = context.getApplicationContext();
+        sSize = size;
+        GutenbergWebViewAssets.preload(context);
+        fill();
+        AppLog.d(AppLog.T.EDITOR, "Gutenberg WebView pool prewarmed with " + sWebViews.size() + " WebViews");
+    }
+
+    @SuppressLint("SetJavaScriptEnabled")
+    private static void fill() {
+        while (sApplicationContext != null && sWebViews.size() < sSize) {
+            WebView webView = new WebView(new MutableContextWrapper(sApplicationContext));
+            WebSettings settings = webView.getSettings();
+            settings.setJavaScriptEnabled(true);
+            settings.setDomStorageEnabled(true);
+            sWebViews.add(webView);
+        }
+    }
+
+    private static void scheduleRefill() {
+        if (sIsRefillScheduled || sWebViews.size() >= sSize) {
+            return;
+        }
+        sIsRefillScheduled = true;
+        // Refilled once idle, so that creating the WebViews doesn't delay the editor adopting one
+        Looper.myQueue().addIdleHandler(() -> {
+            sIsRefillScheduled = false;
+            fill();
+            return false;
+        });
+    }
+
+    /**
+     * @return a WebView attached to the given activity context, or null if the pool is empty
+     */
+    @Nullable
+    @MainThread
+    static WebView acquire(Context activityContext) {
+        assertMainThread();
+        WebView webView = sWebViews.poll();
+        if (webView != null) {
+            ((MutableContextWrapper) webView.getContext()).setBaseContext(activityContext);
+            scheduleRefill();
+        }
+        return webView;
+    }
+
+    @MainThread
+    public static void clear() {
+        assertMainThread();
+        sSize = 0;
+        sApplicationContext = null;
+        while (!sWebViews.isEmpty()) {
+            sWebViews.poll().destroy();
+        }
+    }
+
+    private static void assertMainThread() {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            throw new IllegalStateException("The Gutenberg WebView pool must be used from the main thread");
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package org.wordpress.mobile.ReactNativeGutenbergBridge;
+
+import android.net.Uri;
+import android.webkit.CookieManager;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wordpress.android.util.AppLog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.wordpress.mobile.FileUtils.getStringFromInputStream;
+
+/**
+ * Disk cache of the versioned static resources of the block editor (scripts and styles under wp-includes and
+ * plugins, requested with a "ver" parameter), used by {@link GutenbergWebViewActivity} to serve them without going
+ * to the network on repeat loads.
+ *
+ * The contents are stored by their SHA-256 hash, and each URL points to the hash of its content. The hash is checked
+ * when a resource is served, so a corrupted file is discarded and downloaded again. Resources are downloaded on the
+ * WebView thread calling {@link #intercept}, and the least recently used ones are evicted past {@link #MAX_SIZE_BYTES}.
+ */
+public class GutenbergWebViewResourceCache {
+    /**
+     * What is kept when {@link GutenbergWebViewActivity} finishes.
+     */
+    public enum Retention {
+        // Both the HTTP cache of the WebView and the resources cache are cleared
+        CLEAR_ON_EXIT,
+        // The HTTP cache of the WebView is cleared, the versioned resources are kept
+        KEEP_VERSIONED_RESOURCES,
+        // Nothing is cleared
+        KEEP_ALL
+    }
+
+    static class Resource {
+        final byte[] mContent;
+        final String mMimeType;
+        @Nullable final String mEncoding;
+        // The response headers of CACHED_RESPONSE_HEADERS, e.g. for the CORS checks of module scripts or to
+        // decide whether the resource can be cached
+        final Map<String, String> mHeaders;
+
+        Resource(byte[] content, String mimeType, @Nullable String encoding, Map<String, String> headers) {
+            mContent = content;
+            mMimeType = mimeType;
+            mEncoding = encoding;
+            mHeaders = headers;
+        }
+
+        WebResourceResponse toResponse() {
+            return toResponse(mMimeType, mEncoding, mHeaders, mContent);
+        }
+
+        static WebResourceResponse toResponse(String mimeType, @Nullable String encoding, Map<String, String> headers,
+                                              byte[] content) {
+            return new WebResourceResponse(mimeType, encoding, HttpURLConnection.HTTP_OK, "OK", headers,
+                    new ByteArrayInputStream(content));
+        }
+    }
+
+    private static final String DIRECTORY_NAME = "gutenberg-web-resources";
+    private static final String CONTENTS_DIRECTORY_NAME = "contents";
+    private static final String URLS_DIRECTORY_NAME = "urls";
+    private static final long MAX_SIZE_BYTES = 50 * 1024 * 1024;
+    private static final int TIMEOUT_MS = 15000;
+    private static final Pattern VERSIONED_RESOURCE_PATH =
+            Pattern.compile(".*/(wp-includes|wp-content/plugins)/.+\\.(js|css)$");
+    private static final List<String> CACHEABLE_MIME_TYPES = Arrays.asList("text/javascript",
+            "application/javascript", "application/x-javascript", "text/css");
+    static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    private static final List<String> CACHED_RESPONSE_HEADERS = Arrays.asList("Access-Control-Allow-Origin",
+            "Access-Control-Allow-Credentials", "Cross-Origin-Resource-Policy", "Timing-Allow-Origin",
+            HEADER_CACHE_CONTROL);
+
+    private static final String KEY_HASH = "hash";
+    private static final String KEY_MIME_TYPE = "mimeType";
+    private static final String KEY_ENCODING = "encoding";
+    private static final String KEY_HEADERS = "headers";
+
+    private final File mContentsDirectory;
+    private final File mUrlsDirectory;
+
+    /**
+     * @param cacheDirectory directory of the app cache, e.g. {@code Context.getCacheDir()}
+     */
+    public GutenbergWebViewResourceCache(File cacheDirectory) {
+        File directory = new File(cacheDirectory, DIRECTORY_NAME);
+        mContentsDirectory = new File(directory, CONTENTS_DIRECTORY_NAME);
+        mUrlsDirectory = new File(directory, URLS_DIRECTORY_NAME);
+    }
+
+    /**
+     * @return the cached resource, downloading it first if needed, or null if the request isn't for a versioned
+     * resource or it can't be cached, in which case the WebView loads it itself
+     */
+    @Nullable
+    @WorkerThread
+    public WebResourceResponse intercept(WebResourceRequest request) {
+        if (!isVersionedResource(request)) {
+            return null;
+        }
+
+        String url = request.getUrl().toString();
+        File urlFile = new File(mUrlsDirectory, sha256(url.getBytes(StandardCharsets.UTF_8)));
+        WebResourceResponse response = read(urlFile);
+        if (response == null) {
+            download(url, request.getRequestHeaders(), urlFile);
+            response = read(urlFile);
+        }
+        return response;
+    }
+
+    @WorkerThread
+    public void clear() {
+        deleteFiles(mUrlsDirectory);
+        deleteFiles(mContentsDirectory);
+    }
+
+    private static boolean isVersionedResource(WebResourceRequest request) {
+        Uri uri = request.getUrl();
+        return "GET".equals(request.getMethod())
+               && ("https".equals(uri.getScheme()) || "http".equals(uri.getScheme()))
+               && uri.getPath() != null
+               && VERSIONED_RESOURCE_PATH.matcher(uri.getPath()).matches()
+               && uri.getQueryParameter("ver") != null
+               && !request.getRequestHeaders().containsKey("Range");
+    }
+
+    @Nullable
+    private WebResourceResponse read(File urlFile) {
+        if (!urlFile.exists()) {
+            return null;
+        }
+
+        try {
+            JSONObject entry;
+            try (InputStream in = new FileInputStream(urlFile)) {
+                entry = new JSONObject(getStringFromInputStream(in));
+            }
+            String hash = entry.getString(KEY_HASH);
+            File contentFile = new File(mContentsDirectory, hash);
+            byte[] content = readBytes(contentFile);
+            if (!hash.equals(sha256(content))) {
+                AppLog.w(AppLog.T.EDITOR, "Discarding corrupted cached resource " + hash);
+                contentFile.delete();
+                urlFile.delete();
+                return null;
+            }
+            contentFile.setLastModified(System.currentTimeMillis());
+            // Entries without headers were cached before they were stored, and are downloaded again
+            JSONObject headersEntry = entry.getJSONObject(KEY_HEADERS);
+            Map<String, String> headers = new HashMap<>();
+            for (Iterator<String> names = headersEntry.keys(); names.hasNext();) {
+                String name = names.next();
+                headers.put(name, headersEntry.getString(name));
+            }
+            return Resource.toResponse(entry.getString(KEY_MIME_TYPE), entry.optString(KEY_ENCODING, null), headers,
+                    content);
+        } catch (IOException | JSONException e) {
+            urlFile.delete();
+            return null;
+        }
+    }
+
+    private void download(String url, Map<String, String> requestHeaders, File urlFile) {
+        Resource resource = fetch(url, requestHeaders);
+        if (resource == null) {
+            return;
+        }
+
+        try {
+            String hash = sha256(resource.mContent);
+            writeAtomically(new File(mContentsDirectory, hash), resource.mContent);
+            JSONObject entry = new JSONObject()
+                    .put(KEY_HASH, hash)
+                    .put(KEY_MIME_TYPE, resource.mMimeType)
+                    .putOpt(KEY_ENCODING, resource.mEncoding)
+                    .put(KEY_HEADERS, new JSONObject(resource.mHeaders));
+            writeAtomically(urlFile, entry.toString().getBytes(StandardCharsets.UTF_8));
+            trim();
+        } catch (IOException | JSONException e) {
+            AppLog.w(AppLog.T.EDITOR, "Unable to cache " + url + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Downloads a resource with the cookies of the WebViews, outside of the WebView.
+     *
+     * @return the resource, or null if it isn't available or isn't a script or a style of the requested URL
+     */
+    @Nullable
+    @WorkerThread
+    static Resource fetch(String url, Map<String, String> requestHeaders) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(TIMEOUT_MS);
+            connection.setReadTimeout(TIMEOUT_MS);
+            for (Map.Entry<String, String> header : requestHeaders.entrySet()) {
+                // The connection negotiates and decodes the compression itself
+                if (!"Accept-Encoding".equalsIgnoreCase(header.getKey())) {
+                    connection.setRequestProperty(header.getKey(), header.getValue());
+                }
+            }
+            String cookie = CookieManager.getInstance().getCookie(url);
+            if (cookie != null) {
+                connection.setRequestProperty("Cookie", cookie);
+            }
+
+            String contentType = connection.getContentType();
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK || contentType == null) {
+                return null;
+            }
+            // A redirect, e.g. to a login or captive portal page, must not be cached as the requested resource
+            if (!url.equals(connection.getURL().toString())) {
+                AppLog.w(AppLog.T.EDITOR, "Not caching " + url + ", redirected to " + connection.getURL());
+                return null;
+            }
+            String[] contentTypeParts = contentType.split(";");
+            String mimeType = contentTypeParts[0].trim().toLowerCase(Locale.ROOT);
+            if (!CACHEABLE_MIME_TYPES.contains(mimeType)) {
+                AppLog.w(AppLog.T.EDITOR, "Not caching " + url + " of type " + mimeType);
+                return null;
+            }
+
+            byte[] content;
+            try (InputStream in = connection.getInputStream()) {
+                content = readBytes(in);
+            }
+
+            String encoding = null;
+            for (int i = 1; i < contentTypeParts.length; i++) {
+                String part = contentTypeParts[i].trim();
+                if (part.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    encoding = part.substring("charset=".length());
+                }
+            }
+            Map<String, String> headers = new HashMap<>();
+            for (String name : CACHED_RESPONSE_HEADERS) {
+                String value = connection.getHeaderField(name);
+                if (value != null) {
+                    headers.put(name, value);
+                }
+            }
+            return new Resource(content, mimeType, encoding, headers);
+        } catch (IOException e) {
+            AppLog.w(AppLog.T.EDITOR, "Unable to download " + url + ": " + e.getMessage());
+            return null;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private void trim() {
+        File[] contentFiles = mContentsDirectory.listFiles();
+        if (contentFiles == null) {
+            return;
+        }
+
+        long size = 0;
+        for (File contentFile : contentFiles) {
+            size += contentFile.length();
+        }
+        if (size <= MAX_SIZE_BYTES) {
+            return;
+        }
+
+        Arrays.sort(contentFiles, (first, second) -> Long.compare(first.lastModified(), second.lastModified()));
+        for (File contentFile : contentFiles) {
+            if (size <= MAX_SIZE_BYTES) {
+                break;
+            }
+            size -= contentFile.length();
+            // URLs pointing to evicted contents are dropped when read
+            contentFile.delete();
+        }
+    }
+
+    private static void writeAtomically(File file, byte[] content) throws IOException {
+        File directory = file.getParentFile();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+        File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+        try (OutputStream out = new FileOutputStream(temporaryFile)) {
+            out.write(content);
+        }
+        if (!temporaryFile.renameTo(file)) {
+            temporaryFile.delete();
+            throw new IOException("Unable to write " + file);
+        }
+    }
+
+    private static byte[] readBytes(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return readBytes(in);
+        }
+    }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16 * 1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteFiles(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+}
@@ -34,7 +34,7 @@ import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.FocalPointPickerTooltipShownCallback;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.BlockTypeImpressionsCallback;
 import org.wordpress.mobile.WPAndroidGlue.DeferredEventEmitter;
-import org.wordpress.mobile.WPAndroidGlue.GutenbergJsException;
+import org.wordpress.mobile.WPAndroidGlue.JsExceptionAggregator;
 import org.wordpress.mobile.WPAndroidGlue.MediaOption;
 
 import java.io.Serializable;
@@ -47,6 +47,7 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
         DeferredEventEmitter.JSEventEmitter {
     private final ReactApplicationContext mReactContext;
     private final GutenbergBridgeJS2Parent mGutenbergBridgeJS2Parent;
+    private final JsExceptionAggregator mJsExceptionAggregator;
     private Runnable mKeyboardRunnable;
 
     private static final String EVENT_NAME_REQUEST_GET_HTML = "requestGetHtml";
@@ -103,6 +104,7 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
         mIsDarkMode = isDarkMode;
         mReactContext = reactContext;
         mGutenbergBridgeJS2Parent = gutenbergBridgeJS2Parent;
+        mJsExceptionAggregator = new JsExceptionAggregator(gutenbergBridgeJS2Parent::logException);
     }
 
     @Override
@@ -110,6 +112,12 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
         return "RNReactNativeGutenbergBridge";
     }
 
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        mJsExceptionAggregator.release();
+    }
+
     @Override
     public Map<String, Object> getConstants() {
         final HashMap<String, Object> constants = new HashMap<>();
@@ -199,6 +207,13 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
             writableMap.putBoolean(MAP_KEY_GALLERY_WITH_IMAGE_BLOCKS, galleryWithImageBlocks);
         }
 
+        // Sections sent as null were removed from the theme, JS drops the value it kept for them
+        for (String key : editorTheme.keySet()) {
+            if (editorTheme.get(key) == null) {
+                writableMap.putNull(key);
+            }
+        }
+
         emitToJS(EVENT_NAME_UPDATE_EDITOR_SETTINGS, writableMap);
     }
 
@@ -474,6 +489,11 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
         mGutenbergBridgeJS2Parent.setBlockTypeImpressions(impressions);
     }
 
+    @ReactMethod
+    public void incrementBlockTypeImpressions(final ReadableMap increments) {
+        mGutenbergBridgeJS2Parent.incrementBlockTypeImpressions(increments);
+    }
+
     @ReactMethod
     public void requestContactCustomerSupport() {
         mGutenbergBridgeJS2Parent.requestContactCustomerSupport();
@@ -528,6 +548,21 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
         };
     }
 
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public @Nullable String getInitialContent(String handle) {
+        return mGutenbergBridgeJS2Parent.getInitialContent(handle);
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public @Nullable String getTranslations(String handle) {
+        return mGutenbergBridgeJS2Parent.getTranslations(handle);
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public ReadableArray querySuggestions(String type, String prefix, int limit) {
+        return mGutenbergBridgeJS2Parent.querySuggestions(type, prefix, limit);
+    }
+
     @ReactMethod
     public void showAndroidSoftKeyboard() {
         Activity currentActivity = mReactContext.getCurrentActivity();
@@ -598,9 +633,8 @@ public class RNReactNativeGutenbergBridgeModule extends ReactContextBaseJavaModu
 
     @ReactMethod
     public void logException(final ReadableMap rawException, final Callback jsCallback) {
-        GutenbergJsException exception = GutenbergJsException.fromReadableMap(rawException);
         LogExceptionCallback logExceptionCallback = onLogExceptionCallback(jsCallback);
-        mGutenbergBridgeJS2Parent.logException(exception, logExceptionCallback);
+        mJsExceptionAggregator.add(rawException, logExceptionCallback);
     }
 
    private LogExceptionCallback onLogExceptionCallback(final Callback jsCallback) {
@@ -0,0 +1,253 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Write-ahead journal of the editor content, appended to on every autosave.
+ *
+ * Each revision is a single JSON line, synced to disk before being reported as durable. Recovering the latest
+ * revision only reads the last line of the file, and the journal is compacted down to its last revision once it grows
+ * past a few revisions, so neither recovery nor compaction cost depends on the length of the editing session. All
+ * disk I/O happens on a background thread.
+ */
+public class AutosaveJournal {
+    public static class Revision {
+        private final long mRevision;
+        private final long mTimestamp;
+        private final String mTitle;
+        private final String mContent;
+
+        Revision(long revision, long timestamp, String title, String content) {
+            mRevision = revision;
+            mTimestamp = timestamp;
+            mTitle = title;
+            mContent = content;
+        }
+
+        public long getRevision() {
+            return mRevision;
+        }
+
+        public long getTimestamp() {
+            return mTimestamp;
+        }
+
+        public String getTitle() {
+            return mTitle;
+        }
+
+        public String getContent() {
+            return mContent;
+        }
+    }
+
+    public static final long NO_REVISION = 0;
+
+    private static final String KEY_REVISION = "revision";
+    private static final String KEY_TIMESTAMP = "timestamp";
+    private static final String KEY_TITLE = "title";
+    private static final String KEY_CONTENT = "content";
+
+    private static final String COMPACTION_FILE_SUFFIX = ".tmp";
+    private static final int MAX_REVISIONS_BEFORE_COMPACTION = 16;
+    private static final int READ_CHUNK_SIZE = 8 * 1024;
+    private static final byte NEWLINE = '\n';
+
+    private final File mFile;
+    private final File mCompactionFile;
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+
+    // Only accessed from the journal thread
+    private long mNextRevision = NO_REVISION + 1;
+    private int mRevisionsSinceCompaction;
+    private int mLastContentHash;
+    @Nullable private String mLastRecord;
+
+    private volatile long mLatestDurableRevision = NO_REVISION;
+
+    /**
+     * @param file journal file, which should be specific to the post being edited
+     */
+    public AutosaveJournal(File file) {
+        mFile = file;
+        mCompactionFile = new File(file.getPath() + COMPACTION_FILE_SUFFIX);
+        mExecutor.execute(this::initialize);
+    }
+
+    /**
+     * @return the latest revision that is safely on disk, or {@link #NO_REVISION}
+     */
+    public long getLatestDurableRevision() {
+        return mLatestDurableRevision;
+    }
+
+    /**
+     * Reads the latest durable revision, e.g. to recover the content after a crash. Waits for the pending appends, so
+     * it must not be called from the UI thread.
+     *
+     * @return the latest revision, or null if the journal is empty
+     */
+    @Nullable
+    public Revision readLatest() {
+        try {
+            return mExecutor.submit(() -> mLastRecord != null ? parse(mLastRecord) : null).get();
+        } catch (Exception e) {
+            AppLog.e(T.EDITOR, "Unable to read the autosave journal: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Discards all the revisions, e.g. once the post has been saved.
+     */
+    public void clear() {
+        mExecutor.execute(() -> {
+            //noinspection ResultOfMethodCallIgnored
+            mFile.delete();
+            mLastRecord = null;
+            mLastContentHash = 0;
+            mRevisionsSinceCompaction = 0;
+            mLatestDurableRevision = NO_REVISION;
+        });
+    }
+
+    /**
+     * Appends a revision, unless it is identical to the latest one. A null title or content is stored as empty.
+     */
+    void append(@Nullable String title, @Nullable String content) {
+        final long timestamp = System.currentTimeMillis();
+        final String revisionTitle = title != null ? title : "";
+        final String revisionContent = content != null ? content : "";
+        mExecutor.execute(() -> {
+            int contentHash = 31 * revisionTitle.hashCode() + revisionContent.hashCode();
+            if (mLastRecord != null && contentHash == mLastContentHash) {
+                Revision last = parse(mLastRecord);
+                if (last != null && last.getTitle().equals(revisionTitle)
+                    && last.getContent().equals(revisionContent)) {
+                    return;
+                }
+            }
+
+            long revision = mNextRevision;
+            String record;
+            try {
+                record = new JSONObject()
+                        .put(KEY_REVISION, revision)
+                        .put(KEY_TIMESTAMP, timestamp)
+                        .put(KEY_TITLE, revisionTitle)
+                        .put(KEY_CONTENT, revisionContent)
+                        .toString();
+            } catch (JSONException e) {
+                AppLog.e(T.EDITOR, "Unable to encode autosave revision: " + e.getMessage());
+                return;
+            }
+
+            if (mRevisionsSinceCompaction >= MAX_REVISIONS_BEFORE_COMPACTION) {
+                if (!write(mCompactionFile, record, false) || !mCompactionFile.renameTo(mFile)) {
+                    AppLog.e(T.EDITOR, "Unable to compact the autosave journal");
+                    return;
+                }
+                mRevisionsSinceCompaction = 0;
+            } else if (!write(mFile, record, true)) {
+                return;
+            }
+
+            mNextRevision++;
+            mRevisionsSinceCompaction++;
+            mLastRecord = record;
+            mLastContentHash = contentHash;
+            mLatestDurableRevision = revision;
+        });
+    }
+
+    private void initialize() {
+        //noinspection ResultOfMethodCallIgnored
+        mCompactionFile.delete();
+        if (!mFile.exists()) {
+            return;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(mFile, "rw")) {
+            long end = lastIndexOfNewline(file, file.length());
+            // Drop a record torn by a crash in the middle of an append, so that new records start on a new line
+            file.setLength(end + 1);
+            while (end >= 0) {
+                long start = lastIndexOfNewline(file, end) + 1;
+                byte[] bytes = new byte[(int) (end - start)];
+                file.seek(start);
+                file.readFully(bytes);
+                String record = new String(bytes, StandardCharsets.UTF_8);
+                Revision revision = parse(record);
+                if (revision != null) {
+                    mLastRecord = record;
+                    mLastContentHash = 31 * revision.getTitle().hashCode() + revision.getContent().hashCode();
+                    mNextRevision = revision.getRevision() + 1;
+                    mLatestDurableRevision = revision.getRevision();
+                    // Compact on the next append
+                    mRevisionsSinceCompaction = MAX_REVISIONS_BEFORE_COMPACTION;
+                    return;
+                }
+                end = start - 1;
+            }
+        } catch (IOException e) {
+            AppLog.e(T.EDITOR, "Unable to recover the autosave journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the position of the last newline before the given position, or -1 if there is none
+     */
+    private static long lastIndexOfNewline(RandomAccessFile file, long before) throws IOException {
+        byte[] buffer = new byte[READ_CHUNK_SIZE];
+        long chunkEnd = before;
+        while (chunkEnd > 0) {
+            int length = (int) Math.min(READ_CHUNK_SIZE, chunkEnd);
+            long chunkStart = chunkEnd - length;
+            file.seek(chunkStart);
+            file.readFully(buffer, 0, length);
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer[i] == NEWLINE) {
+                    return chunkStart + i;
+                }
+            }
+            chunkEnd = chunkStart;
+        }
+        return -1;
+    }
+
+    private static boolean write(File file, String record, boolean append) {
+        try (FileOutputStream out = new FileOutputStream(file, append)) {
+            out.write(record.getBytes(StandardCharsets.UTF_8));
+            out.write(NEWLINE);
+            out.getFD().sync();
+            return true;
+        } catch (IOException e) {
+            AppLog.e(T.EDITOR, "Unable to write to the autosave journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Nullable
+    private static Revision parse(String record) {
+        try {
+            JSONObject json = new JSONObject(record);
+            return new Revision(json.getLong(KEY_REVISION), json.getLong(KEY_TIMESTAMP), json.getString(KEY_TITLE),
+                    json.getString(KEY_CONTENT));
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableMap;
+
+import org.wordpress.mobile.WPAndroidGlue.WPAndroidGlueCode.OnBlockTypeImpressionsEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory block type impression counters backed by the host.
+ *
+ * The counters are loaded from the host the first time they are requested and served from memory afterwards. JS
+ * only sends the increments of the counters that change, and the resulting counters are written back to the host on
+ * a background thread, batching the changes made within a short delay. Once the store is released, pending changes
+ * are written right away and later changes are only kept in memory.
+ */
+class BlockTypeImpressionsStore {
+    private static final long WRITE_DELAY_MS = 2000;
+
+    private final OnBlockTypeImpressionsEventListener mListener;
+    private final ScheduledExecutorService mExecutor = Executors.newSingleThreadScheduledExecutor();
+    private Map<String, Integer> mImpressions;
+    private ScheduledFuture<?> mScheduledWrite;
+    private boolean mIsReleased;
+
+    BlockTypeImpressionsStore(OnBlockTypeImpressionsEventListener listener) {
+        mListener = listener;
+    }
+
+    synchronized WritableMap getImpressions() {
+        ensureLoaded();
+        WritableMap impressions = Arguments.createMap();
+        for (Map.Entry<String, Integer> entry : mImpressions.entrySet()) {
+            impressions.putInt(entry.getKey(), entry.getValue());
+        }
+        return impressions;
+    }
+
+    synchronized void setImpressions(ReadableMap impressions) {
+        mImpressions = new HashMap<>();
+        ReadableMapKeySetIterator iterator = impressions.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            mImpressions.put(key, (int) impressions.getDouble(key));
+        }
+        scheduleWrite();
+    }
+
+    /**
+     * @param increments changes of the counters by block type name, counters never go below zero
+     */
+    synchronized void incrementImpressions(ReadableMap increments) {
+        ensureLoaded();
+        ReadableMapKeySetIterator iterator = increments.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            Integer count = mImpressions.get(key);
+            int increment = (int) increments.getDouble(key);
+            mImpressions.put(key, Math.max((count != null ? count : 0) + increment, 0));
+        }
+        scheduleWrite();
+    }
+
+    private void ensureLoaded() {
+        if (mImpressions != null) {
+            return;
+        }
+        mImpressions = new HashMap<>();
+        Map<String, Double> storedImpressions = mListener.onRequestBlockTypeImpressions();
+        for (Map.Entry<String, Double> entry : storedImpressions.entrySet()) {
+            mImpressions.put(entry.getKey(), entry.getValue().intValue());
+        }
+    }
+
+    /**
+     * Writes the pending changes, if any, and shuts down the background thread.
+     */
+    synchronized void release() {
+        if (mIsReleased) {
+            return;
+        }
+        mIsReleased = true;
+        if (mScheduledWrite != null && mScheduledWrite.cancel(false)) {
+            mExecutor.execute(this::write);
+        }
+        mExecutor.shutdown();
+    }
+
+    private void scheduleWrite() {
+        if (mScheduledWrite == null && !mIsReleased) {
+            mScheduledWrite = mExecutor.schedule(this::write, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void write() {
+        // Hosts store the impressions with Gson, which deserializes all numbers as Double
+        Map<String, Double> impressions = new HashMap<>();
+        synchronized (this) {
+            mScheduledWrite = null;
+            for (Map.Entry<String, Integer> entry : mImpressions.entrySet()) {
+                impressions.put(entry.getKey(), (double) entry.getValue());
+            }
+        }
+        mListener.onSetBlockTypeImpressions(impressions);
+    }
+}
@@ -0,0 +1,79 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.core.util.Consumer;
+
+/**
+ * Only delivers a connection status once it has held for a given window, so that networks flapping between
+ * connected and disconnected result in a single transition. The first status is delivered right away, and changes
+ * reverted within the window are counted as suppressed flaps.
+ */
+class ConnectionStatusDebouncer {
+    static final long DEFAULT_WINDOW_MS = 2000;
+
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+    private final Consumer<Boolean> mOnSettled;
+    private final Runnable mDeliverPending = this::deliverPending;
+
+    private long mWindowMs = DEFAULT_WINDOW_MS;
+    private boolean mHasDelivered;
+    private boolean mDeliveredStatus;
+    private boolean mHasPending;
+    private boolean mPendingStatus;
+    private volatile long mSuppressedFlapCount;
+
+    ConnectionStatusDebouncer(Consumer<Boolean> onSettled) {
+        mOnSettled = onSettled;
+    }
+
+    synchronized void setWindow(long windowMs) {
+        mWindowMs = windowMs;
+    }
+
+    long getSuppressedFlapCount() {
+        return mSuppressedFlapCount;
+    }
+
+    void onConnectionStatusChange(boolean isConnected) {
+        synchronized (this) {
+            if (mHasPending) {
+                if (isConnected == mPendingStatus) {
+                    // Repeated callback for the pending status, keep waiting for the window to end
+                    return;
+                }
+                // Reverted to the delivered status before the window ended
+                mHandler.removeCallbacks(mDeliverPending);
+                mHasPending = false;
+                mSuppressedFlapCount++;
+                return;
+            }
+            if (mHasDelivered && isConnected == mDeliveredStatus) {
+                return;
+            }
+            if (mHasDelivered && mWindowMs > 0) {
+                mHasPending = true;
+                mPendingStatus = isConnected;
+                mHandler.postDelayed(mDeliverPending, mWindowMs);
+                return;
+            }
+            mHasDelivered = true;
+            mDeliveredStatus = isConnected;
+        }
+        mOnSettled.accept(isConnected);
+    }
+
+    private void deliverPending() {
+        boolean status;
+        synchronized (this) {
+            if (!mHasPending) {
+                return;
+            }
+            mHasPending = false;
+            mDeliveredStatus = mPendingStatus;
+            status = mPendingStatus;
+        }
+        mOnSettled.accept(status);
+    }
+}
@@ -4,7 +4,6 @@ import android.util.Pair;
 
 import androidx.annotation.Nullable;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 
@@ -12,6 +11,9 @@ import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.MediaSaveEventEmitter;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.FeaturedImageEmitter;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -65,6 +67,11 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
 
     private JSEventEmitter mJSEventEmitter;
 
+    /**
+     * Capabilities already sent to JS, used to only emit the ones that change
+     */
+    private @Nullable Map<String, Boolean> mEmittedCapabilities;
+
     void setEmitter(JSEventEmitter emitter) {
         mJSEventEmitter = emitter;
         flushActionQueueToJS();
@@ -97,6 +104,22 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
         }
     }
 
+    /**
+     * @return a copy of the actions waiting for the editor to mount
+     */
+    List<Pair<String, WritableMap>> getPendingActions() {
+        return new ArrayList<>(mPendingActions);
+    }
+
+    /**
+     * Queues the actions restored from a previous editor session, see {@link #queueActionToJS}.
+     */
+    void restorePendingActions(List<Pair<String, WritableMap>> actions) {
+        for (Pair<String, WritableMap> action : actions) {
+            queueActionToJS(action.first, action.second);
+        }
+    }
+
     private void flushActionQueueToJS() {
         while (0 < mPendingActions.size()) {
             final Pair<String, WritableMap> action = mPendingActions.remove();
@@ -245,7 +268,26 @@ public class DeferredEventEmitter implements MediaUploadEventEmitter, MediaSaveE
         queueActionToJS(EVENT_NAME_MEDIA_REPLACE_BLOCK, writableMap);
     }
 
-    public void updateCapabilities(GutenbergProps gutenbergProps) {
-        queueActionToJS(MAP_KEY_UPDATE_CAPABILITIES, Arguments.makeNativeMap(gutenbergProps.getUpdatedCapabilitiesProps()));
+    /**
+     * Records the capabilities passed to the editor with the initial props
+     */
+    void setInitialCapabilities(GutenbergProps gutenbergProps) {
+        mEmittedCapabilities = gutenbergProps.getCapabilities();
+    }
+
+    public synchronized void updateCapabilities(GutenbergProps gutenbergProps) {
+        Map<String, Boolean> capabilities = gutenbergProps.getCapabilities();
+        Map<String, Boolean> changedCapabilities =
+                GutenbergProps.getChangedCapabilities(mEmittedCapabilities, capabilities);
+        mEmittedCapabilities = capabilities;
+        if (changedCapabilities.isEmpty()) {
+            return;
+        }
+
+        WritableMap writableMap = new WritableNativeMap();
+        for (Map.Entry<String, Boolean> capability : changedCapabilities.entrySet()) {
+            writableMap.putBoolean(capability.getKey(), capability.getValue());
+        }
+        queueActionToJS(MAP_KEY_UPDATE_CAPABILITIES, writableMap);
     }
 }
@@ -0,0 +1,122 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.LogLevel;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Bounded in-memory buffer of the latest editor log entries, preallocated so that capturing an entry doesn't
+ * allocate.
+ *
+ * Entries below the capture threshold are discarded, and those at or above the forward threshold are also written to
+ * {@code AppLog}. Both thresholds can be changed at any time. By default all entries are captured, and only warnings
+ * and errors are forwarded, so that verbose logging doesn't slow down typing. Hosts can forward every entry with
+ * {@code setThresholds(LogLevel.TRACE, LogLevel.TRACE)}.
+ *
+ * The entries are only attached to the reports of JS exceptions once the host opts in, as they may contain user
+ * content.
+ */
+public class EditorLogBuffer {
+    private static final int DEFAULT_CAPACITY = 200;
+
+    private final String[] mMessages;
+    private final LogLevel[] mLevels;
+    private final long[] mTimestamps;
+    private int mNext;
+    private int mSize;
+
+    private volatile int mCaptureThreshold = LogLevel.TRACE.ordinal();
+    private volatile int mForwardThreshold = LogLevel.WARN.ordinal();
+    private volatile boolean mAttachedToExceptions;
+
+    public EditorLogBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EditorLogBuffer(int capacity) {
+        mMessages = new String[capacity];
+        mLevels = new LogLevel[capacity];
+        mTimestamps = new long[capacity];
+    }
+
+    /**
+     * @param captureThreshold lowest level kept in the buffer
+     * @param forwardThreshold lowest level also written to {@code AppLog}
+     */
+    public void setThresholds(LogLevel captureThreshold, LogLevel forwardThreshold) {
+        mCaptureThreshold = captureThreshold.ordinal();
+        mForwardThreshold = forwardThreshold.ordinal();
+    }
+
+    /**
+     * @param attachedToExceptions whether the latest entries are attached to the reports of JS exceptions
+     */
+    public void setAttachedToExceptions(boolean attachedToExceptions) {
+        mAttachedToExceptions = attachedToExceptions;
+    }
+
+    boolean isAttachedToExceptions() {
+        return mAttachedToExceptions;
+    }
+
+    boolean shouldCapture(LogLevel level) {
+        return level.ordinal() >= mCaptureThreshold;
+    }
+
+    boolean shouldForward(LogLevel level) {
+        return level.ordinal() >= mForwardThreshold;
+    }
+
+    synchronized void add(String message, LogLevel level) {
+        mMessages[mNext] = message;
+        mLevels[mNext] = level;
+        mTimestamps[mNext] = System.currentTimeMillis();
+        mNext = (mNext + 1) % mMessages.length;
+        mSize = Math.min(mSize + 1, mMessages.length);
+    }
+
+    /**
+     * @return the buffered entries, oldest first, one per line
+     */
+    public String dump() {
+        return dump(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxLength maximum length of the dump, kept by dropping the oldest entries
+     * @return the latest buffered entries that fit in {@code maxLength}, oldest first, one per line
+     */
+    public synchronized String dump(int maxLength) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss.SSS", Locale.US);
+        String[] lines = new String[mSize];
+        int length = 0;
+        int count = 0;
+        // Newest first, until the next entry doesn't fit
+        for (int i = 0; i < mSize; i++) {
+            int index = (mNext - 1 - i + mMessages.length) % mMessages.length;
+            String line = dateFormat.format(new Date(mTimestamps[index])) + ' ' + mLevels[index] + ' '
+                          + mMessages[index] + '\n';
+            if (length + line.length() > maxLength) {
+                break;
+            }
+            lines[count++] = line;
+            length += line.length();
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = count - 1; i >= 0; i--) {
+            builder.append(lines[i]);
+        }
+        return builder.toString();
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < mMessages.length; i++) {
+            mMessages[i] = null;
+            mLevels[i] = null;
+        }
+        mNext = 0;
+        mSize = 0;
+    }
+}
@@ -0,0 +1,183 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.Bundle;
+import android.util.AtomicFile;
+import android.util.Pair;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.wordpress.mobile.FileUtils.getStringFromInputStream;
+
+/**
+ * State of an editor session that can't be recovered from the host's saved post after the process is killed:
+ * the latest title and content, media waiting for the editor to mount, events waiting to be delivered to JS and
+ * the theme not yet applied.
+ *
+ * The native maps can only be read until they are sent to JS, so the snapshot must be given copies of them when
+ * it is encoded later, e.g. in the background.
+ */
+class EditorSessionSnapshot {
+    private static final int VERSION = 1;
+
+    private static final String KEY_VERSION = "version";
+    private static final String KEY_TITLE = "title";
+    private static final String KEY_CONTENT = "content";
+    private static final String KEY_CONTENT_CHANGED = "contentChanged";
+    private static final String KEY_MEDIA = "media";
+    private static final String KEY_PENDING_EVENTS = "pendingEvents";
+    private static final String KEY_EDITOR_THEME = "editorTheme";
+    private static final String KEY_EVENT_NAME = "name";
+    private static final String KEY_EVENT_DATA = "data";
+    private static final String KEY_MEDIA_ID = "id";
+    private static final String KEY_MEDIA_URL = "url";
+    private static final String KEY_MEDIA_TYPE = "type";
+    private static final String KEY_MEDIA_CAPTION = "caption";
+    private static final String KEY_MEDIA_TITLE = "title";
+    private static final String KEY_MEDIA_ALT = "alt";
+    private static final String KEY_MEDIA_METADATA = "metadata";
+
+    final String mTitle;
+    final String mContent;
+    final boolean mContentChanged;
+    final List<Media> mMedia;
+    final List<Pair<String, WritableMap>> mPendingEvents;
+    @Nullable final String mEditorTheme;
+
+    EditorSessionSnapshot(String title, String content, boolean contentChanged, List<Media> media,
+                          List<Pair<String, WritableMap>> pendingEvents, @Nullable String editorTheme) {
+        mTitle = title;
+        mContent = content;
+        mContentChanged = contentChanged;
+        mMedia = media;
+        mPendingEvents = pendingEvents;
+        mEditorTheme = editorTheme;
+    }
+
+    String toJson() throws IOException, JSONException {
+        JSONArray media = new JSONArray();
+        for (Media item : mMedia) {
+            media.put(new JSONObject()
+                    .put(KEY_MEDIA_ID, item.getId())
+                    .put(KEY_MEDIA_URL, item.getUrl())
+                    .put(KEY_MEDIA_TYPE, item.getType())
+                    .put(KEY_MEDIA_CAPTION, item.getCaption())
+                    .put(KEY_MEDIA_TITLE, item.getTitle())
+                    .put(KEY_MEDIA_ALT, item.getAlt())
+                    .put(KEY_MEDIA_METADATA, new JSONObject(JsonUtils.toJson(item.getMetadata()))));
+        }
+
+        JSONArray pendingEvents = new JSONArray();
+        for (Pair<String, WritableMap> event : mPendingEvents) {
+            JSONObject entry = new JSONObject().put(KEY_EVENT_NAME, event.first);
+            if (event.second != null) {
+                entry.put(KEY_EVENT_DATA, new JSONObject(JsonUtils.toJson(event.second)));
+            }
+            pendingEvents.put(entry);
+        }
+
+        JSONObject snapshot = new JSONObject()
+                .put(KEY_VERSION, VERSION)
+                .put(KEY_TITLE, mTitle)
+                .put(KEY_CONTENT, mContent)
+                .put(KEY_CONTENT_CHANGED, mContentChanged)
+                .put(KEY_MEDIA, media)
+                .put(KEY_PENDING_EVENTS, pendingEvents);
+        if (mEditorTheme != null) {
+            snapshot.put(KEY_EDITOR_THEME, new JSONObject(mEditorTheme));
+        }
+        return snapshot.toString();
+    }
+
+    /**
+     * @return the snapshot, or null if it was written by an incompatible version
+     */
+    @Nullable
+    static EditorSessionSnapshot fromJson(String json) throws JSONException {
+        JSONObject snapshot = new JSONObject(json);
+        if (snapshot.optInt(KEY_VERSION) != VERSION) {
+            return null;
+        }
+
+        List<Media> media = new ArrayList<>();
+        JSONArray mediaEntries = snapshot.getJSONArray(KEY_MEDIA);
+        for (int i = 0; i < mediaEntries.length(); i++) {
+            JSONObject entry = mediaEntries.getJSONObject(i);
+            JSONObject metadata = entry.optJSONObject(KEY_MEDIA_METADATA);
+            media.add(new Media(entry.getInt(KEY_MEDIA_ID), entry.getString(KEY_MEDIA_URL),
+                    entry.getString(KEY_MEDIA_TYPE), entry.optString(KEY_MEDIA_CAPTION),
+                    entry.optString(KEY_MEDIA_TITLE), entry.optString(KEY_MEDIA_ALT),
+                    metadata != null ? JsonUtils.toWritableMap(metadata) : new WritableNativeMap()));
+        }
+
+        List<Pair<String, WritableMap>> pendingEvents = new ArrayList<>();
+        JSONArray eventEntries = snapshot.getJSONArray(KEY_PENDING_EVENTS);
+        for (int i = 0; i < eventEntries.length(); i++) {
+            JSONObject entry = eventEntries.getJSONObject(i);
+            JSONObject data = entry.optJSONObject(KEY_EVENT_DATA);
+            pendingEvents.add(new Pair<>(entry.getString(KEY_EVENT_NAME),
+                    data != null ? JsonUtils.toWritableMap(data) : null));
+        }
+
+        JSONObject editorTheme = snapshot.optJSONObject(KEY_EDITOR_THEME);
+
+        return new EditorSessionSnapshot(snapshot.getString(KEY_TITLE), snapshot.getString(KEY_CONTENT),
+                snapshot.getBoolean(KEY_CONTENT_CHANGED), media, pendingEvents,
+                editorTheme != null ? editorTheme.toString() : null);
+    }
+
+    static Bundle toEditorThemeBundle(String editorTheme) throws JSONException {
+        JSONObject theme = new JSONObject(editorTheme);
+        Bundle bundle = new Bundle();
+        Iterator<String> keys = theme.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = JsonUtils.toJavaObject(theme.get(key));
+            if (value instanceof Boolean) {
+                bundle.putBoolean(key, (Boolean) value);
+            } else if (value instanceof Serializable) {
+                bundle.putSerializable(key, (Serializable) value);
+            }
+        }
+        return bundle;
+    }
+
+    static void write(File file, String json) throws IOException {
+        AtomicFile atomicFile = new AtomicFile(file);
+        FileOutputStream out = atomicFile.startWrite();
+        try {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+            atomicFile.finishWrite(out);
+        } catch (IOException e) {
+            atomicFile.failWrite(out);
+            throw e;
+        }
+    }
+
+    @Nullable
+    static EditorSessionSnapshot read(File file) throws IOException, JSONException {
+        AtomicFile atomicFile = new AtomicFile(file);
+        if (!atomicFile.getBaseFile().exists()) {
+            return null;
+        }
+        try (FileInputStream in = atomicFile.openRead()) {
+            return fromJson(getStringFromInputStream(in));
+        }
+    }
+}
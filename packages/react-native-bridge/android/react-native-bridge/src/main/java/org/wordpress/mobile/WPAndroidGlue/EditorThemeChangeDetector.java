@@ -0,0 +1,74 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.Bundle;
+
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.wordpress.mobile.WPAndroidGlue.GutenbergProps.PROP_COLORS;
+import static org.wordpress.mobile.WPAndroidGlue.GutenbergProps.PROP_FEATURES;
+import static org.wordpress.mobile.WPAndroidGlue.GutenbergProps.PROP_GALLERY_WITH_IMAGE_BLOCKS;
+import static org.wordpress.mobile.WPAndroidGlue.GutenbergProps.PROP_GRADIENTS;
+import static org.wordpress.mobile.WPAndroidGlue.GutenbergProps.PROP_STYLES;
+
+/**
+ * Keeps every editor theme section already sent to the editor, so that a theme update only carries the sections that
+ * actually changed, and no update is sent at all when the theme is identical. A section missing from a new theme is
+ * sent as null, so that the editor drops the value it kept, e.g. the global styles of a block theme after switching to
+ * a classic theme.
+ */
+class EditorThemeChangeDetector {
+    private static final String[] THEME_SECTIONS = {
+            PROP_COLORS,
+            PROP_GRADIENTS,
+            PROP_STYLES,
+            PROP_FEATURES,
+            PROP_GALLERY_WITH_IMAGE_BLOCKS
+    };
+
+    private final Map<String, Object> mEmittedSections = new HashMap<>();
+
+    /**
+     * Records the sections of a theme that reached the editor by other means (e.g. the initial props).
+     */
+    void onThemeEmitted(@Nullable Bundle editorTheme) {
+        if (editorTheme != null) {
+            getChangedSections(editorTheme);
+        }
+    }
+
+    /**
+     * @return a theme bundle holding only the sections that differ from the ones previously emitted, with a null
+     * value for the ones that were removed, or null if nothing changed. The returned sections are recorded as emitted.
+     */
+    @Nullable
+    Bundle getChangedSections(Bundle editorTheme) {
+        Bundle changedSections = new Bundle();
+        for (String section : THEME_SECTIONS) {
+            if (!editorTheme.containsKey(section)) {
+                if (mEmittedSections.remove(section) != null) {
+                    changedSections.putSerializable(section, null);
+                }
+                continue;
+            }
+            // The collections used for the theme (ArrayList, HashMap, String) compare their content
+            Object value = editorTheme.get(section);
+            if (!mEmittedSections.containsKey(section) || !Objects.equals(value, mEmittedSections.get(section))) {
+                mEmittedSections.put(section, value);
+                copySection(editorTheme, changedSections, section);
+            }
+        }
+        return changedSections.isEmpty() ? null : changedSections;
+    }
+
+    private void copySection(Bundle from, Bundle to, String section) {
+        if (PROP_GALLERY_WITH_IMAGE_BLOCKS.equals(section)) {
+            to.putBoolean(section, from.getBoolean(section));
+        } else {
+            to.putSerializable(section, from.getSerializable(section));
+        }
+    }
+}
@@ -17,6 +17,8 @@ class GutenbergJsException (
     val isHandled: Boolean,
     val handledBy: String
 ) {
+    fun withContext(key: String, value: Any) =
+        GutenbergJsException(type, message, stackTrace, context + (key to value), tags, isHandled, handledBy)
 
     companion object {
         @JvmStatic
@@ -1,7 +1,10 @@
 package org.wordpress.mobile.WPAndroidGlue
 
 import android.os.Bundle
+import android.os.SystemClock
 import androidx.annotation.VisibleForTesting
+import org.json.JSONObject
+import org.wordpress.android.util.AppLog
 import java.util.Locale
 
 data class GutenbergProps @JvmOverloads constructor(
@@ -33,58 +36,90 @@ data class GutenbergProps @JvmOverloads constructor(
     val htmlModeEnabled: Boolean
 ) {
 
-    fun getInitialProps(bundle: Bundle?) = (bundle ?: Bundle()).apply {
+    /**
+     * @param translationsHandle handle of the translations file to be loaded by JS, if set the translations are not
+     * included in the props
+     */
+    @JvmOverloads
+    fun getInitialProps(bundle: Bundle?, translationsHandle: String? = null) = (bundle ?: Bundle()).apply {
         putString(PROP_INITIAL_DATA, "")
         putString(PROP_INITIAL_TITLE, "")
         putString(PROP_LOCALE, revertDeprecatedLanguageCode(localeSlug))
         putString(PROP_POST_TYPE, postType)
         putString(PROP_HOST_APP_NAMESPACE, hostAppNamespace)
         putInt(PROP_INITIAL_FEATURED_IMAGE_ID, featuredImageId)
-        putBundle(PROP_TRANSLATIONS, translations)
+        if (translationsHandle != null) {
+            putString(PROP_TRANSLATIONS_HANDLE, translationsHandle)
+        } else {
+            putBundle(PROP_TRANSLATIONS, translations)
+        }
         putBoolean(PROP_INITIAL_HTML_MODE_ENABLED, htmlModeEnabled)
 
         putBundle(PROP_CAPABILITIES, getUpdatedCapabilitiesProps())
 
-        editorTheme?.also { theme ->
-            theme.getSerializable(PROP_COLORS)?.let { putSerializable(PROP_COLORS, it) }
-            theme.getSerializable(PROP_GRADIENTS)?.let { putSerializable(PROP_GRADIENTS, it) }
-            theme.getSerializable(PROP_STYLES)
-                    ?.let { putSerializable(PROP_STYLES, it) }
-            theme.getSerializable(PROP_FEATURES)
-                    ?.let { putSerializable(PROP_FEATURES, it) }
-            theme.getSerializable(PROP_IS_FSE_THEME)
-                    ?.let { putSerializable(PROP_IS_FSE_THEME, it) }
-            theme.getSerializable(PROP_GALLERY_WITH_IMAGE_BLOCKS)
-                    ?.let { putSerializable(PROP_GALLERY_WITH_IMAGE_BLOCKS, it) }
-            theme.getSerializable(PROP_QUOTE_BLOCK_V2)
-                    ?.let { putSerializable(PROP_QUOTE_BLOCK_V2, it) }
-            theme.getSerializable(PROP_LIST_BLOCK_V2)
-                    ?.let { putSerializable(PROP_LIST_BLOCK_V2, it) }
-        }
+        // The theme is sent as a single pre-encoded JSON string, parsed once by JS, instead of nested lists and
+        // maps that would be converted entry by entry into native maps (and kept in the root view's props)
+        editorTheme?.also { theme -> putString(PROP_EDITOR_THEME, encodeEditorTheme(theme)) }
     }
 
     fun getUpdatedCapabilitiesProps() = Bundle().apply {
-        putBoolean(PROP_CAPABILITIES_MENTIONS, enableMentions)
-        putBoolean(PROP_CAPABILITIES_XPOSTS, enableXPosts)
-        putBoolean(PROP_CAPABILITIES_CONTACT_INFO_BLOCK, enableContactInfoBlock)
-        putBoolean(PROP_CAPABILITIES_LAYOUT_GRID_BLOCK, enableLayoutGridBlock)
-        putBoolean(PROP_CAPABILITIES_TILED_GALLERY_BLOCK, enableTiledGalleryBlock)
-        putBoolean(PROP_CAPABILITIES_VIDEOPRESS_BLOCK, enableVideoPressBlock)
-        putBoolean(PROP_CAPABILITIES_VIDEOPRESS_V5_SUPPORT, enableVideoPressV5Support)
-        putBoolean(PROP_CAPABILITIES_UNSUPPORTED_BLOCK_EDITOR, enableUnsupportedBlockEditor)
-        putBoolean(PROP_CAPABILITIES_CAN_ENABLE_UNSUPPORTED_BLOCK_EDITOR, canEnableUnsupportedBlockEditor)
-        putBoolean(PROP_CAPABILITIES_IS_AUDIO_BLOCK_MEDIA_UPLOAD_ENABLED, isAudioBlockMediaUploadEnabled)
-        putBoolean(PROP_CAPABILITIES_SHOULD_USE_FASTIMAGE, shouldUseFastImage)
-        putBoolean(PROP_CAPABILITIES_REUSABLE_BLOCK, enableReusableBlock)
-        putBoolean(PROP_CAPABILITIES_FACEBOOK_EMBED_BLOCK, enableFacebookEmbed)
-        putBoolean(PROP_CAPABILITIES_INSTAGRAM_EMBED_BLOCK, enableInstagramEmbed)
-        putBoolean(PROP_CAPABILITIES_LOOM_EMBED_BLOCK, enableLoomEmbed)
-        putBoolean(PROP_CAPABILITIES_SMARTFRAME_EMBED_BLOCK, enableSmartframeEmbed)
-        putBoolean(PROP_CAPABILITIES_SUPPORT_SECTION, enableSupportSection)
-        putBoolean(PROP_CAPABILITIES_ONLY_CORE_BLOCKS, enableOnlyCoreBlocks)
+        getCapabilities().forEach { (key, value) -> putBoolean(key, value) }
     }
 
+    fun getCapabilities(): Map<String, Boolean> = linkedMapOf(
+        PROP_CAPABILITIES_MENTIONS to enableMentions,
+        PROP_CAPABILITIES_XPOSTS to enableXPosts,
+        PROP_CAPABILITIES_CONTACT_INFO_BLOCK to enableContactInfoBlock,
+        PROP_CAPABILITIES_LAYOUT_GRID_BLOCK to enableLayoutGridBlock,
+        PROP_CAPABILITIES_TILED_GALLERY_BLOCK to enableTiledGalleryBlock,
+        PROP_CAPABILITIES_VIDEOPRESS_BLOCK to enableVideoPressBlock,
+        PROP_CAPABILITIES_VIDEOPRESS_V5_SUPPORT to enableVideoPressV5Support,
+        PROP_CAPABILITIES_UNSUPPORTED_BLOCK_EDITOR to enableUnsupportedBlockEditor,
+        PROP_CAPABILITIES_CAN_ENABLE_UNSUPPORTED_BLOCK_EDITOR to canEnableUnsupportedBlockEditor,
+        PROP_CAPABILITIES_IS_AUDIO_BLOCK_MEDIA_UPLOAD_ENABLED to isAudioBlockMediaUploadEnabled,
+        PROP_CAPABILITIES_SHOULD_USE_FASTIMAGE to shouldUseFastImage,
+        PROP_CAPABILITIES_REUSABLE_BLOCK to enableReusableBlock,
+        PROP_CAPABILITIES_FACEBOOK_EMBED_BLOCK to enableFacebookEmbed,
+        PROP_CAPABILITIES_INSTAGRAM_EMBED_BLOCK to enableInstagramEmbed,
+        PROP_CAPABILITIES_LOOM_EMBED_BLOCK to enableLoomEmbed,
+        PROP_CAPABILITIES_SMARTFRAME_EMBED_BLOCK to enableSmartframeEmbed,
+        PROP_CAPABILITIES_SUPPORT_SECTION to enableSupportSection,
+        PROP_CAPABILITIES_ONLY_CORE_BLOCKS to enableOnlyCoreBlocks
+    )
+
     companion object {
+        private val EDITOR_THEME_KEYS = listOf(
+                PROP_COLORS,
+                PROP_GRADIENTS,
+                PROP_STYLES,
+                PROP_FEATURES,
+                PROP_IS_FSE_THEME,
+                PROP_GALLERY_WITH_IMAGE_BLOCKS,
+                PROP_QUOTE_BLOCK_V2,
+                PROP_LIST_BLOCK_V2
+        )
+
+        fun encodeEditorTheme(theme: Bundle): String {
+            val startTime = SystemClock.elapsedRealtime()
+            val json = JSONObject().apply {
+                EDITOR_THEME_KEYS.forEach { key ->
+                    @Suppress("DEPRECATION")
+                    theme.get(key)?.let { put(key, JSONObject.wrap(it)) }
+                }
+            }.toString()
+            AppLog.d(AppLog.T.EDITOR, "Editor theme encoded in ${SystemClock.elapsedRealtime() - startTime} ms, " +
+                    "${json.length} chars")
+            return json
+        }
+
+        /**
+         * Returns the capabilities whose value differs from (or is missing in) the previously emitted set.
+         */
+        @JvmStatic
+        fun getChangedCapabilities(
+            previous: Map<String, Boolean>?,
+            current: Map<String, Boolean>
+        ): Map<String, Boolean> = current.filter { (key, value) -> previous?.get(key) != value }
 
         fun initContent(bundle: Bundle?, title: String?, content: String?) =
                 (bundle ?: Bundle()).apply {
@@ -92,20 +127,32 @@ data class GutenbergProps @JvmOverloads constructor(
                     content?.let { putString(PROP_INITIAL_DATA, it) }
                 }
 
+        /**
+         * Sets a handle that JS uses to pull the content from native, instead of copying the content into the props
+         */
+        fun initContentHandle(bundle: Bundle?, title: String?, contentHandle: String) =
+                (bundle ?: Bundle()).apply {
+                    title?.let { putString(PROP_INITIAL_TITLE, it) }
+                    putString(PROP_INITIAL_DATA_HANDLE, contentHandle)
+                }
+
         private const val PROP_INITIAL_HTML_MODE_ENABLED = "initialHtmlModeEnabled"
         private const val PROP_POST_TYPE = "postType"
         private const val PROP_HOST_APP_NAMESPACE = "hostAppNamespace"
         private const val PROP_INITIAL_FEATURED_IMAGE_ID = "featuredImageId"
         private const val PROP_TRANSLATIONS = "translations"
-        private const val PROP_COLORS = "colors"
-        private const val PROP_GRADIENTS = "gradients"
+        private const val PROP_TRANSLATIONS_HANDLE = "translationsHandle"
+        private const val PROP_EDITOR_THEME = "editorTheme"
         private const val PROP_IS_FSE_THEME = "isFSETheme"
-        private const val PROP_GALLERY_WITH_IMAGE_BLOCKS = "galleryWithImageBlocks"
         private const val PROP_QUOTE_BLOCK_V2 = "quoteBlockV2"
         private const val PROP_LIST_BLOCK_V2 = "listBlockV2"
 
         const val PROP_INITIAL_TITLE = "initialTitle"
         const val PROP_INITIAL_DATA = "initialData"
+        const val PROP_INITIAL_DATA_HANDLE = "initialDataHandle"
+        const val PROP_COLORS = "colors"
+        const val PROP_GRADIENTS = "gradients"
+        const val PROP_GALLERY_WITH_IMAGE_BLOCKS = "galleryWithImageBlocks"
         const val PROP_STYLES = "rawStyles"
         const val PROP_FEATURES = "rawFeatures"
         const val PROP_LOCALE = "locale"
@@ -0,0 +1,175 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.LogExceptionCallback;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collapses repeated JS exceptions before they reach the host.
+ *
+ * Exceptions are fingerprinted by type, message and innermost stack frames straight from the raw map, so duplicates
+ * are never converted into a {@link GutenbergJsException}. The first occurrence of a fingerprint is reported right
+ * away. Further occurrences are only counted, and reported periodically as a single exception carrying the number of
+ * occurrences in its context, up to a limit of reports per fingerprint and time window. JS callbacks of duplicates
+ * are answered as soon as they are counted. Once released, the pending occurrences are reported right away.
+ */
+public class JsExceptionAggregator {
+    public interface Reporter {
+        void report(GutenbergJsException exception, LogExceptionCallback logExceptionCallback);
+    }
+
+    private static class Entry {
+        final GutenbergJsException mException;
+        long mWindowStart;
+        int mReportsInWindow;
+        int mPendingCount;
+
+        Entry(GutenbergJsException exception, long windowStart) {
+            mException = exception;
+            mWindowStart = windowStart;
+            mReportsInWindow = 1;
+        }
+    }
+
+    public static final String CONTEXT_KEY_OCCURRENCES = "occurrences";
+
+    private static final int FINGERPRINT_FRAME_COUNT = 3;
+    private static final int MAX_FINGERPRINTS = 50;
+    private static final int MAX_REPORTS_PER_WINDOW = 5;
+    private static final long WINDOW_MS = 60 * 60 * 1000;
+    private static final long FLUSH_INTERVAL_MS = 10 * 1000;
+
+    private final Reporter mReporter;
+    private final ScheduledExecutorService mExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, Entry> mEntries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_FINGERPRINTS;
+        }
+    };
+    private ScheduledFuture<?> mScheduledFlush;
+    private boolean mIsReleased;
+    private long mDroppedCount;
+
+    public JsExceptionAggregator(Reporter reporter) {
+        mReporter = reporter;
+    }
+
+    public void add(ReadableMap rawException, LogExceptionCallback logExceptionCallback) {
+        String fingerprint = fingerprint(rawException);
+        long now = System.currentTimeMillis();
+        GutenbergJsException exception;
+        synchronized (this) {
+            Entry entry = mEntries.get(fingerprint);
+            if (entry != null && now - entry.mWindowStart < WINDOW_MS) {
+                entry.mPendingCount++;
+                scheduleFlush();
+                exception = null;
+            } else {
+                exception = GutenbergJsException.fromReadableMap(rawException);
+                mEntries.put(fingerprint, new Entry(exception, now));
+            }
+        }
+
+        if (exception != null) {
+            mReporter.report(exception, logExceptionCallback);
+        } else {
+            logExceptionCallback.onLogException(true);
+        }
+    }
+
+    /**
+     * Reports the pending occurrences, if any, and shuts down the background thread.
+     */
+    public synchronized void release() {
+        if (mIsReleased) {
+            return;
+        }
+        mIsReleased = true;
+        if (mScheduledFlush != null && mScheduledFlush.cancel(false)) {
+            mExecutor.execute(this::flush);
+        }
+        mExecutor.shutdown();
+    }
+
+    private void scheduleFlush() {
+        if (mScheduledFlush == null && !mIsReleased) {
+            mScheduledFlush = mExecutor.schedule(this::flush, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        List<GutenbergJsException> batch = new ArrayList<>();
+        synchronized (this) {
+            mScheduledFlush = null;
+            long now = System.currentTimeMillis();
+            Iterator<Entry> iterator = mEntries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.mPendingCount > 0) {
+                    if (entry.mReportsInWindow < MAX_REPORTS_PER_WINDOW) {
+                        entry.mReportsInWindow++;
+                        batch.add(entry.mException.withContext(CONTEXT_KEY_OCCURRENCES, entry.mPendingCount));
+                    } else {
+                        mDroppedCount += entry.mPendingCount;
+                    }
+                    entry.mPendingCount = 0;
+                } else if (now - entry.mWindowStart >= WINDOW_MS) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        AppLog.d(T.EDITOR, "Flushing " + batch.size() + " aggregated JS exceptions, dropped so far: "
+                           + mDroppedCount);
+        for (GutenbergJsException exception : batch) {
+            mReporter.report(exception, success -> {
+                if (!success) {
+                    AppLog.e(T.EDITOR, "Unable to log aggregated JS exception: " + exception.getMessage());
+                }
+            });
+        }
+    }
+
+    static String fingerprint(ReadableMap rawException) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(getString(rawException, "type")).append('|')
+                .append(getString(rawException, "message"));
+        ReadableArray stackTrace = rawException.hasKey("stacktrace") ? rawException.getArray("stacktrace") : null;
+        if (stackTrace != null) {
+            // The frames are sent outermost first, the crash site is at the end
+            for (int i = Math.max(0, stackTrace.size() - FINGERPRINT_FRAME_COUNT); i < stackTrace.size(); i++) {
+                if (stackTrace.getType(i) != ReadableType.Map) {
+                    continue;
+                }
+                ReadableMap frame = stackTrace.getMap(i);
+                fingerprint.append('|')
+                           .append(getString(frame, "function")).append('@')
+                           .append(getString(frame, "filename")).append(':')
+                           .append(frame.hasKey("lineno") && !frame.isNull("lineno") ? frame.getInt("lineno") : -1);
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    @Nullable
+    private static String getString(ReadableMap map, String key) {
+        return map.hasKey(key) && map.getType(key) == ReadableType.String ? map.getString(key) : null;
+    }
+}
@@ -0,0 +1,107 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.util.JsonWriter;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+
+/**
+ * Conversions between JSON and the structures used to exchange data with JS, for the state that the glue
+ * persists to disk.
+ */
+class JsonUtils {
+    static String toJson(ReadableMap data) throws IOException {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(stringWriter);
+        ReadableMapRequestBody.writeMap(jsonWriter, data);
+        jsonWriter.flush();
+        return stringWriter.toString();
+    }
+
+    static WritableMap toWritableMap(JSONObject object) throws JSONException {
+        WritableMap map = new WritableNativeMap();
+        Iterator<String> keys = object.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            Object value = object.get(key);
+            if (value instanceof JSONObject) {
+                map.putMap(key, toWritableMap((JSONObject) value));
+            } else if (value instanceof JSONArray) {
+                map.putArray(key, toWritableArray((JSONArray) value));
+            } else if (value instanceof Boolean) {
+                map.putBoolean(key, (Boolean) value);
+            } else if (value instanceof Number) {
+                map.putDouble(key, ((Number) value).doubleValue());
+            } else if (value instanceof String) {
+                map.putString(key, (String) value);
+            } else {
+                map.putNull(key);
+            }
+        }
+        return map;
+    }
+
+    static WritableArray toWritableArray(JSONArray array) throws JSONException {
+        WritableArray writableArray = new WritableNativeArray();
+        for (int i = 0; i < array.length(); i++) {
+            Object value = array.get(i);
+            if (value instanceof JSONObject) {
+                writableArray.pushMap(toWritableMap((JSONObject) value));
+            } else if (value instanceof JSONArray) {
+                writableArray.pushArray(toWritableArray((JSONArray) value));
+            } else if (value instanceof Boolean) {
+                writableArray.pushBoolean((Boolean) value);
+            } else if (value instanceof Number) {
+                writableArray.pushDouble(((Number) value).doubleValue());
+            } else if (value instanceof String) {
+                writableArray.pushString((String) value);
+            } else {
+                writableArray.pushNull();
+            }
+        }
+        return writableArray;
+    }
+
+    /**
+     * Converts a JSON value into the plain Java collections (HashMap, ArrayList) used by the host apps for the
+     * Serializable values of a Bundle.
+     */
+    @Nullable
+    static Object toJavaObject(@Nullable Object value) throws JSONException {
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            HashMap<String, Object> map = new HashMap<>();
+            Iterator<String> keys = object.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                map.put(key, toJavaObject(object.get(key)));
+            }
+            return map;
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            ArrayList<Object> list = new ArrayList<>();
+            for (int i = 0; i < array.length(); i++) {
+                list.add(toJavaObject(array.get(i)));
+            }
+            return list;
+        } else if (value == JSONObject.NULL) {
+            return null;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,322 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.Bundle;
+import android.util.AtomicFile;
+
+import androidx.annotation.Nullable;
+import androidx.core.util.Consumer;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.wordpress.mobile.FileUtils.getStringFromInputStream;
+
+/**
+ * Holds idempotent POST requests issued by the editor while the device is offline, persists them to an app-private
+ * file, and replays them in batches (with exponential backoff on network failures) once the connection is restored.
+ *
+ * All queue state is confined to a single background thread, so neither the native modules thread nor the UI thread
+ * perform any serialization or disk I/O on behalf of the queue.
+ */
+public class OfflineRequestQueue {
+    public interface IdempotentRequestMatcher {
+        boolean isIdempotent(String path);
+    }
+
+    public static class Metrics {
+        private final int mDepth;
+        private final long mReplayedCount;
+        private final long mDroppedCount;
+        private final long mAverageLatencyMs;
+        private final long mMaxLatencyMs;
+
+        Metrics(int depth, long replayedCount, long droppedCount, long averageLatencyMs, long maxLatencyMs) {
+            mDepth = depth;
+            mReplayedCount = replayedCount;
+            mDroppedCount = droppedCount;
+            mAverageLatencyMs = averageLatencyMs;
+            mMaxLatencyMs = maxLatencyMs;
+        }
+
+        public int getDepth() {
+            return mDepth;
+        }
+
+        public long getReplayedCount() {
+            return mReplayedCount;
+        }
+
+        public long getDroppedCount() {
+            return mDroppedCount;
+        }
+
+        /**
+         * @return average time between a request being queued and it being successfully replayed
+         */
+        public long getAverageLatencyMs() {
+            return mAverageLatencyMs;
+        }
+
+        public long getMaxLatencyMs() {
+            return mMaxLatencyMs;
+        }
+    }
+
+    private static class PendingRequest {
+        final String mPath;
+        final String mBody;
+        final long mEnqueuedAt;
+        int mAttempts;
+        // Only available for requests queued during this session
+        @Nullable final ReadableMap mData;
+        @Nullable final Consumer<String> mOnSuccess;
+        @Nullable final Consumer<Bundle> mOnError;
+
+        PendingRequest(String path, String body, long enqueuedAt, int attempts, @Nullable ReadableMap data,
+                       @Nullable Consumer<String> onSuccess, @Nullable Consumer<Bundle> onError) {
+            mPath = path;
+            mBody = body;
+            mEnqueuedAt = enqueuedAt;
+            mAttempts = attempts;
+            mData = data;
+            mOnSuccess = onSuccess;
+            mOnError = onError;
+        }
+    }
+
+    private static final String QUEUE_FILE_NAME = "gutenberg-offline-requests.json";
+    private static final String KEY_PATH = "path";
+    private static final String KEY_BODY = "body";
+    private static final String KEY_ENQUEUED_AT = "enqueuedAt";
+    private static final String KEY_ATTEMPTS = "attempts";
+    private static final String KEY_ERROR_CODE = "code";
+
+    private static final int MAX_QUEUE_SIZE = 50;
+    private static final int BATCH_SIZE = 5;
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long INITIAL_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 60 * 1000;
+
+    private final ScheduledExecutorService mExecutor;
+    private final AtomicFile mQueueFile;
+    private final IdempotentRequestMatcher mIdempotentRequestMatcher;
+    private final ArrayDeque<PendingRequest> mQueue = new ArrayDeque<>();
+
+    private volatile RequestExecutor mRequestExecutor;
+    private volatile boolean mIsConnected = true;
+    private boolean mIsReplaying;
+    private long mBackoffMs = INITIAL_BACKOFF_MS;
+
+    // Only written from the queue thread, volatile so that metrics can be read from any thread
+    private volatile int mDepth;
+    private volatile long mReplayedCount;
+    private volatile long mDroppedCount;
+    private volatile long mTotalLatencyMs;
+    private volatile long mMaxLatencyMs;
+
+    public OfflineRequestQueue(File directory, IdempotentRequestMatcher idempotentRequestMatcher) {
+        this(directory, idempotentRequestMatcher, Executors.newSingleThreadScheduledExecutor());
+    }
+
+    /**
+     * @param executor single-threaded executor the queue state is confined to
+     */
+    OfflineRequestQueue(File directory, IdempotentRequestMatcher idempotentRequestMatcher,
+                        ScheduledExecutorService executor) {
+        mQueueFile = new AtomicFile(new File(directory, QUEUE_FILE_NAME));
+        mIdempotentRequestMatcher = idempotentRequestMatcher;
+        mExecutor = executor;
+        mExecutor.execute(this::restore);
+    }
+
+    void setRequestExecutor(RequestExecutor requestExecutor) {
+        mRequestExecutor = requestExecutor;
+    }
+
+    /**
+     * @return true if the request must be held in the queue instead of being performed right away
+     */
+    boolean shouldQueue(String path, boolean isConnected) {
+        mIsConnected = isConnected;
+        return !isConnected && mIdempotentRequestMatcher.isIdempotent(path);
+    }
+
+    void enqueue(final String path, final ReadableMap data, final Consumer<String> onSuccess,
+                 final Consumer<Bundle> onError) {
+        mExecutor.execute(() -> {
+            if (mQueue.size() >= MAX_QUEUE_SIZE) {
+                AppLog.w(T.EDITOR, "Offline request queue is full, dropping request to " + path);
+                mDroppedCount++;
+                onError.accept(new Bundle());
+                return;
+            }
+
+            String body;
+            try {
+                body = JsonUtils.toJson(data);
+            } catch (IOException e) {
+                AppLog.e(T.EDITOR, "Unable to serialize offline request to " + path + ": " + e.getMessage());
+                onError.accept(new Bundle());
+                return;
+            }
+
+            mQueue.add(new PendingRequest(path, body, System.currentTimeMillis(), 0, data, onSuccess, onError));
+            persist();
+        });
+    }
+
+    void onConnectionStatusChange(boolean isConnected) {
+        mIsConnected = isConnected;
+        if (isConnected) {
+            mExecutor.execute(() -> {
+                mBackoffMs = INITIAL_BACKOFF_MS;
+                replayNextBatch();
+            });
+        }
+    }
+
+    public Metrics getMetrics() {
+        long replayedCount = mReplayedCount;
+        long averageLatencyMs = replayedCount == 0 ? 0 : mTotalLatencyMs / replayedCount;
+        return new Metrics(mDepth, replayedCount, mDroppedCount, averageLatencyMs, mMaxLatencyMs);
+    }
+
+    private void replayNextBatch() {
+        if (mIsReplaying || !mIsConnected || mRequestExecutor == null || mQueue.isEmpty()) {
+            return;
+        }
+        mIsReplaying = true;
+
+        final List<PendingRequest> batch = new ArrayList<>();
+        while (batch.size() < BATCH_SIZE && !mQueue.isEmpty()) {
+            batch.add(mQueue.poll());
+        }
+        final int[] remaining = {batch.size()};
+        final List<PendingRequest> retries = new ArrayList<>();
+
+        for (final PendingRequest request : batch) {
+            ReadableMap data = request.mData != null ? request.mData : parseBody(request.mBody);
+            mRequestExecutor.performPostRequest(request.mPath, data,
+                    response -> mExecutor.execute(() -> {
+                        onReplaySucceeded(request);
+                        if (request.mOnSuccess != null) {
+                            request.mOnSuccess.accept(response);
+                        }
+                        onRequestFinished(remaining, retries);
+                    }),
+                    errorBundle -> mExecutor.execute(() -> {
+                        request.mAttempts++;
+                        // Errors without a status code mean the server was never reached, so the request is retried
+                        if (!errorBundle.containsKey(KEY_ERROR_CODE) && request.mAttempts < MAX_ATTEMPTS) {
+                            retries.add(request);
+                        } else {
+                            mDroppedCount++;
+                            if (request.mOnError != null) {
+                                request.mOnError.accept(errorBundle);
+                            }
+                        }
+                        onRequestFinished(remaining, retries);
+                    }));
+        }
+    }
+
+    private static ReadableMap parseBody(String body) {
+        try {
+            return JsonUtils.toWritableMap(new JSONObject(body));
+        } catch (JSONException e) {
+            AppLog.e(T.EDITOR, "Unable to parse offline request body: " + e.getMessage());
+            return new WritableNativeMap();
+        }
+    }
+
+    private void onReplaySucceeded(PendingRequest request) {
+        long latencyMs = System.currentTimeMillis() - request.mEnqueuedAt;
+        mReplayedCount++;
+        mTotalLatencyMs += latencyMs;
+        mMaxLatencyMs = Math.max(mMaxLatencyMs, latencyMs);
+    }
+
+    private void onRequestFinished(int[] remaining, List<PendingRequest> retries) {
+        if (--remaining[0] > 0) {
+            return;
+        }
+
+        // Keep the original order by putting retried requests back at the head of the queue
+        for (int i = retries.size() - 1; i >= 0; i--) {
+            mQueue.addFirst(retries.get(i));
+        }
+        persist();
+        mIsReplaying = false;
+
+        AppLog.d(T.EDITOR, "Offline request queue batch done, depth: " + mQueue.size()
+                           + ", replayed: " + mReplayedCount + ", dropped: " + mDroppedCount);
+
+        if (retries.isEmpty()) {
+            mBackoffMs = INITIAL_BACKOFF_MS;
+            replayNextBatch();
+        } else {
+            mExecutor.schedule(this::replayNextBatch, mBackoffMs, TimeUnit.MILLISECONDS);
+            mBackoffMs = Math.min(mBackoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    private void persist() {
+        mDepth = mQueue.size();
+        FileOutputStream out = null;
+        try {
+            JSONArray entries = new JSONArray();
+            for (PendingRequest request : mQueue) {
+                JSONObject entry = new JSONObject();
+                entry.put(KEY_PATH, request.mPath);
+                entry.put(KEY_BODY, request.mBody);
+                entry.put(KEY_ENQUEUED_AT, request.mEnqueuedAt);
+                entry.put(KEY_ATTEMPTS, request.mAttempts);
+                entries.put(entry);
+            }
+            out = mQueueFile.startWrite();
+            out.write(entries.toString().getBytes(StandardCharsets.UTF_8));
+            mQueueFile.finishWrite(out);
+        } catch (IOException | JSONException e) {
+            AppLog.e(T.EDITOR, "Unable to persist offline request queue: " + e.getMessage());
+            if (out != null) {
+                mQueueFile.failWrite(out);
+            }
+        }
+    }
+
+    private void restore() {
+        if (!mQueueFile.getBaseFile().exists()) {
+            return;
+        }
+        try (FileInputStream in = mQueueFile.openRead()) {
+            JSONArray entries = new JSONArray(getStringFromInputStream(in));
+            for (int i = 0; i < entries.length(); i++) {
+                JSONObject entry = entries.getJSONObject(i);
+                mQueue.add(new PendingRequest(entry.getString(KEY_PATH), entry.getString(KEY_BODY),
+                        entry.getLong(KEY_ENQUEUED_AT), entry.getInt(KEY_ATTEMPTS), null, null, null));
+            }
+            mDepth = mQueue.size();
+        } catch (IOException | JSONException e) {
+            AppLog.e(T.EDITOR, "Unable to restore offline request queue: " + e.getMessage());
+            mQueueFile.delete();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.util.JsonWriter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * OkHttp {@link RequestBody} that serializes a {@link ReadableMap} as JSON straight into the request sink.
+ *
+ * Hosts implementing {@link RequestExecutor#performPostRequest} can wrap the data received from JS with this body
+ * instead of converting it via {@code toHashMap()} and Gson on the native modules thread. When the call is
+ * dispatched with {@code enqueue}, the serialization runs on OkHttp's background dispatcher, and no intermediate
+ * map or string is built for the payload.
+ */
+public class ReadableMapRequestBody extends RequestBody {
+    private static final MediaType MEDIA_TYPE_JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private final ReadableMap mData;
+
+    public ReadableMapRequestBody(@NonNull ReadableMap data) {
+        mData = data;
+    }
+
+    @Nullable
+    @Override
+    public MediaType contentType() {
+        return MEDIA_TYPE_JSON;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        Writer writer = new OutputStreamWriter(sink.outputStream(), StandardCharsets.UTF_8);
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        writeMap(jsonWriter, mData);
+        // Flush (without closing) so the sink remains owned by OkHttp
+        jsonWriter.flush();
+    }
+
+    public static void writeMap(JsonWriter writer, @Nullable ReadableMap map) throws IOException {
+        if (map == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.beginObject();
+        ReadableMapKeySetIterator iterator = map.keySetIterator();
+        while (iterator.hasNextKey()) {
+            String key = iterator.nextKey();
+            writer.name(key);
+            switch (map.getType(key)) {
+                case Null:
+                    writer.nullValue();
+                    break;
+                case Boolean:
+                    writer.value(map.getBoolean(key));
+                    break;
+                case Number:
+                    writeNumber(writer, map.getDouble(key));
+                    break;
+                case String:
+                    writer.value(map.getString(key));
+                    break;
+                case Map:
+                    writeMap(writer, map.getMap(key));
+                    break;
+                case Array:
+                    writeArray(writer, map.getArray(key));
+                    break;
+            }
+        }
+        writer.endObject();
+    }
+
+    public static void writeArray(JsonWriter writer, @Nullable ReadableArray array) throws IOException {
+        if (array == null) {
+            writer.nullValue();
+            return;
+        }
+
+        writer.beginArray();
+        for (int i = 0; i < array.size(); i++) {
+            switch (array.getType(i)) {
+                case Null:
+                    writer.nullValue();
+                    break;
+                case Boolean:
+                    writer.value(array.getBoolean(i));
+                    break;
+                case Number:
+                    writeNumber(writer, array.getDouble(i));
+                    break;
+                case String:
+                    writer.value(array.getString(i));
+                    break;
+                case Map:
+                    writeMap(writer, array.getMap(i));
+                    break;
+                case Array:
+                    writeArray(writer, array.getArray(i));
+                    break;
+            }
+        }
+        writer.endArray();
+    }
+
+    /**
+     * JS only has doubles, so integral values are written without a fraction (as JSON.stringify would do) to keep
+     * ids and counts acceptable for REST endpoints expecting integers. Non-finite values become null, also matching
+     * JSON.stringify.
+     */
+    private static void writeNumber(JsonWriter writer, double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writer.nullValue();
+        } else if (value == Math.rint(value) && Math.abs(value) < (double) Long.MAX_VALUE) {
+            writer.value((long) value);
+        } else {
+            writer.value(value);
+        }
+    }
+}
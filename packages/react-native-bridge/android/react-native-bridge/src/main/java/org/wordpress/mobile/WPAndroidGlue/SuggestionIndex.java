@@ -0,0 +1,125 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Prefix index of the mention (user) or xpost (site) suggestions of a site.
+ *
+ * Each suggestion is indexed by its value and by every word of its display name, as lowercase keys kept in a single
+ * sorted array. The keys matching a prefix form a contiguous range of that array, found with a binary search, so
+ * queries don't depend on the number of suggestions.
+ */
+public class SuggestionIndex {
+    public static class Suggestion {
+        private final String mValue;
+        private final String mDisplayName;
+
+        /**
+         * @param value text inserted in the post, e.g. the username without the "@"
+         * @param displayName name shown to the user, e.g. the full name of the user or the title of the site
+         */
+        public Suggestion(@NonNull String value, @NonNull String displayName) {
+            mValue = value;
+            mDisplayName = displayName;
+        }
+
+        public String getValue() {
+            return mValue;
+        }
+
+        public String getDisplayName() {
+            return mDisplayName;
+        }
+    }
+
+    private static class Key implements Comparable<Key> {
+        final String mText;
+        final int mSuggestion;
+
+        Key(String text, int suggestion) {
+            mText = text;
+            mSuggestion = suggestion;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int result = mText.compareTo(other.mText);
+            return result != 0 ? result : Integer.compare(mSuggestion, other.mSuggestion);
+        }
+    }
+
+    private final Suggestion[] mSuggestions;
+    private final String[] mKeys;
+    private final int[] mKeySuggestions;
+
+    public SuggestionIndex(List<Suggestion> suggestions) {
+        mSuggestions = suggestions.toArray(new Suggestion[0]);
+
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < mSuggestions.length; i++) {
+            keys.add(new Key(normalize(mSuggestions[i].getValue()), i));
+            for (String word : mSuggestions[i].getDisplayName().split("\\s+")) {
+                if (!word.isEmpty()) {
+                    keys.add(new Key(normalize(word), i));
+                }
+            }
+        }
+        Key[] sortedKeys = keys.toArray(new Key[0]);
+        Arrays.sort(sortedKeys);
+
+        mKeys = new String[sortedKeys.length];
+        mKeySuggestions = new int[sortedKeys.length];
+        for (int i = 0; i < sortedKeys.length; i++) {
+            mKeys[i] = sortedKeys[i].mText;
+            mKeySuggestions[i] = sortedKeys[i].mSuggestion;
+        }
+    }
+
+    public int size() {
+        return mSuggestions.length;
+    }
+
+    /**
+     * @return up to {@code limit} suggestions with a value or a display name word starting with the prefix, ordered
+     * by the matching key. An empty prefix matches all suggestions.
+     */
+    public List<Suggestion> query(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        Set<Integer> matches = new LinkedHashSet<>();
+        for (int i = lowerBound(normalizedPrefix);
+             i < mKeys.length && matches.size() < limit && mKeys[i].startsWith(normalizedPrefix); i++) {
+            matches.add(mKeySuggestions[i]);
+        }
+
+        List<Suggestion> result = new ArrayList<>(matches.size());
+        for (int match : matches) {
+            result.add(mSuggestions[match]);
+        }
+        return result;
+    }
+
+    private int lowerBound(String text) {
+        int low = 0;
+        int high = mKeys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (mKeys[middle].compareTo(text) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
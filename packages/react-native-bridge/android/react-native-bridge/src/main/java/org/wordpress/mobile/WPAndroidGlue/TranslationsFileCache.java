@@ -0,0 +1,167 @@
+package org.wordpress.mobile.WPAndroidGlue;
+
+import android.os.Bundle;
+import android.util.AtomicFile;
+
+import androidx.annotation.Nullable;
+
+import org.json.JSONObject;
+import org.wordpress.android.util.AppLog;
+import org.wordpress.android.util.AppLog.T;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.wordpress.mobile.FileUtils.getStringFromInputStream;
+
+/**
+ * Stores the editor translations in a JSON file in the app cache, keyed by locale and version, so that the
+ * translations don't need to be copied into the initial props of the editor. The initial props only carry a handle
+ * that JS uses to load the file once, when setting up the locale.
+ *
+ * The file is written on a background thread the first time a locale/version pair is used, and the translations are
+ * passed in the initial props as usual until the file exists, so JS never waits for the write. Should the file go
+ * missing afterwards (e.g. the cache was cleared), the translations are encoded from memory instead.
+ */
+public class TranslationsFileCache {
+    private static final String DIRECTORY_NAME = "gutenberg-translations";
+    private static final String FILE_EXTENSION = ".json";
+
+    private final File mDirectory;
+    private final String mVersion;
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor();
+    private final Set<String> mPendingWrites = new HashSet<>();
+    private final Map<String, Bundle> mTranslations = new HashMap<>();
+
+    /**
+     * @param cacheDirectory directory of the app cache, e.g. {@code Context.getCacheDir()}
+     * @param version version of the translations (e.g. the host app version), files of other versions are discarded
+     */
+    public TranslationsFileCache(File cacheDirectory, String version) {
+        mDirectory = new File(cacheDirectory, DIRECTORY_NAME);
+        mVersion = version;
+    }
+
+    /**
+     * @return the handle used by JS to load the translations for the given locale, or null if the file isn't written
+     * yet and the translations must be passed in the initial props
+     */
+    @Nullable
+    synchronized String prepare(String locale, final Bundle translations) {
+        final String localePrefix = sanitize(locale) + "-";
+        final String handle = localePrefix + sanitize(mVersion) + FILE_EXTENSION;
+        final File file = new File(mDirectory, handle);
+        if (file.exists()) {
+            mTranslations.put(handle, translations);
+            return handle;
+        }
+
+        if (mPendingWrites.add(handle)) {
+            mExecutor.execute(() -> {
+                write(file, translations);
+                deleteOtherVersions(localePrefix, handle);
+                synchronized (TranslationsFileCache.this) {
+                    mPendingWrites.remove(handle);
+                }
+            });
+        }
+        return null;
+    }
+
+    /**
+     * @return the translations as a JSON-encoded string, or null if the handle is unknown
+     */
+    @Nullable
+    String read(String handle) {
+        File file = new File(mDirectory, handle);
+        // Handles are only ever plain file names within the translations directory
+        if (!mDirectory.equals(file.getParentFile())) {
+            AppLog.e(T.EDITOR, "Invalid translations handle " + handle);
+            return null;
+        }
+        if (file.exists()) {
+            try (FileInputStream in = new AtomicFile(file).openRead()) {
+                return getStringFromInputStream(in);
+            } catch (IOException e) {
+                AppLog.e(T.EDITOR, "Unable to read translations file " + handle + ": " + e.getMessage());
+            }
+        }
+
+        Bundle translations;
+        synchronized (this) {
+            translations = mTranslations.get(handle);
+        }
+        if (translations == null) {
+            AppLog.e(T.EDITOR, "Translations not found for handle " + handle);
+            return null;
+        }
+        JSONObject json = encode(translations);
+        return json != null ? json.toString() : null;
+    }
+
+    @Nullable
+    private static JSONObject encode(Bundle translations) {
+        JSONObject json = new JSONObject();
+        try {
+            for (String key : translations.keySet()) {
+                json.put(key, JSONObject.wrap(translations.get(key)));
+            }
+        } catch (Exception e) {
+            AppLog.e(T.EDITOR, "Unable to encode translations: " + e.getMessage());
+            return null;
+        }
+        return json;
+    }
+
+    private void write(File file, Bundle translations) {
+        if (!mDirectory.exists() && !mDirectory.mkdirs()) {
+            AppLog.e(T.EDITOR, "Unable to create translations cache directory");
+            return;
+        }
+
+        JSONObject json = encode(translations);
+        if (json == null) {
+            return;
+        }
+
+        AtomicFile atomicFile = new AtomicFile(file);
+        FileOutputStream out = null;
+        try {
+            out = atomicFile.startWrite();
+            out.write(json.toString().getBytes(StandardCharsets.UTF_8));
+            atomicFile.finishWrite(out);
+        } catch (IOException e) {
+            AppLog.e(T.EDITOR, "Unable to write translations file: " + e.getMessage());
+            if (out != null) {
+                atomicFile.failWrite(out);
+            }
+        }
+    }
+
+    private void deleteOtherVersions(String localePrefix, String currentHandle) {
+        File[] files = mDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (name.startsWith(localePrefix) && !name.equals(currentHandle)) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[^A-Za-z0-9_.]", "_");
+    }
+}
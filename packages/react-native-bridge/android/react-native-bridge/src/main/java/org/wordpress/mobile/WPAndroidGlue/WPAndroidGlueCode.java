@@ -9,6 +9,7 @@ import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.text.TextUtils;
+import android.util.AtomicFile;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.FrameLayout.LayoutParams;
@@ -33,8 +34,9 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
 import com.facebook.react.bridge.WritableNativeMap;
 import com.facebook.react.common.LifecycleState;
 import com.facebook.react.modules.core.DefaultHardwareBackBtnHandler;
@@ -50,6 +52,7 @@ import com.swmansion.reanimated.ReanimatedPackage;
 import com.swmansion.rnscreens.RNScreensPackage;
 import com.th3rdwave.safeareacontext.SafeAreaContextPackage;
 
+import org.json.JSONException;
 import org.linusu.RNGetRandomValuesPackage;
 import org.reactnative.maskedview.RNCMaskedViewPackage;
 import org.wordpress.android.util.AppLog;
@@ -63,6 +66,8 @@ import org.wordpress.mobile.ReactNativeGutenbergBridge.GutenbergBridgeJS2Parent.
 import org.wordpress.mobile.ReactNativeGutenbergBridge.RNMedia;
 import org.wordpress.mobile.ReactNativeGutenbergBridge.RNReactNativeGutenbergBridgePackage;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -71,7 +76,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.OkHttpClient;
@@ -105,6 +113,7 @@ public class WPAndroidGlueCode {
     private OnFocalPointPickerTooltipShownEventListener mOnFocalPointPickerTooltipShownListener;
     private OnGutenbergDidRequestPreviewListener mOnGutenbergDidRequestPreviewListener;
     private OnBlockTypeImpressionsEventListener mOnBlockTypeImpressionsEventListener;
+    private BlockTypeImpressionsStore mBlockTypeImpressionsStore;
     private OnCustomerSupportOptionsListener mOnCustomerSupportOptionsListener;
     private OnSendEventToHostListener mOnSendEventToHostListener;
 
@@ -118,6 +127,13 @@ public class WPAndroidGlueCode {
     private boolean mIsEditorMounted;
 
     private String mContentHtml = "";
+    /**
+     * Content of a large post pulled by JS, along with the handle passed in the initial props. It is not released when
+     * the editor mounts, since JS pulls it again whenever it's reloaded (e.g. a dev reload or a remount after a crash).
+     * Instead it is kept until the root view is destroyed, and replaced by the latest content set by the host, so it
+     * only ever holds the same string as {@link #mContentHtml}.
+     */
+    private volatile @Nullable Pair<String, String> mInitialContentHandoff;
     private boolean mContentInitialized;
     private HashMap<Integer, Media> mMediaToAddAfterMounting = new HashMap<>();
     private String mTitle = "";
@@ -128,8 +144,29 @@ public class WPAndroidGlueCode {
     private CountDownLatch mGetContentCountDownLatch;
     private WeakReference<View> mLastFocusedView = null;
     private RequestExecutor mRequestExecutor;
+    private @Nullable OfflineRequestQueue mOfflineRequestQueue;
+    private @Nullable TranslationsFileCache mTranslationsFileCache;
     private ShowSuggestionsUtil mShowSuggestionsUtil;
+    private volatile @Nullable SuggestionIndex mUserSuggestionIndex;
+    private volatile @Nullable SuggestionIndex mXpostSuggestionIndex;
+    private @Nullable ExecutorService mSuggestionIndexExecutor;
     private @Nullable Bundle mEditorTheme = null;
+    private final EditorThemeChangeDetector mEditorThemeChangeDetector = new EditorThemeChangeDetector();
+    private final EditorLogBuffer mEditorLogBuffer = new EditorLogBuffer();
+    private final ConnectionStatusDebouncer mConnectionStatusDebouncer =
+            new ConnectionStatusDebouncer(this::onConnectionStatusSettled);
+    private @Nullable File mSessionSnapshotFile;
+    private volatile boolean mShouldWriteSessionSnapshot;
+    private @Nullable AutosaveJournal mAutosaveJournal;
+    private volatile boolean mShouldJournalContent;
+    private final Handler mJournalContentTimeoutHandler = new Handler(Looper.getMainLooper());
+    private final Runnable mJournalContentTimeout = () -> {
+        if (mShouldJournalContent) {
+            mShouldJournalContent = false;
+            AppLog.w(T.EDITOR, "Timeout reached before the content to journal was received.");
+        }
+    };
+    private @Nullable ExecutorService mSessionSnapshotExecutor;
 
     private static OkHttpHeaderInterceptor sAddCookiesInterceptor = new OkHttpHeaderInterceptor();
     private static OkHttpClient sOkHttpClient = new OkHttpClient.Builder().addInterceptor(sAddCookiesInterceptor).build();
@@ -138,6 +175,21 @@ public class WPAndroidGlueCode {
     private Consumer<String> mBreadcrumbLogger;
     private boolean mShouldHandleBackPress = false;
 
+    public static final String SUGGESTION_TYPE_USER = "user";
+    public static final String SUGGESTION_TYPE_XPOST = "xpost";
+    private static final String SUGGESTION_KEY_VALUE = "value";
+    private static final String SUGGESTION_KEY_DISPLAY_NAME = "displayName";
+
+    // Recent editor log entries attached to the context of the JS exceptions, when enabled in the log buffer
+    public static final String CONTEXT_KEY_EDITOR_LOG = "editorLog";
+    private static final int MAX_EXCEPTION_EDITOR_LOG_LENGTH = 8 * 1024;
+
+    // Posts larger than this are handed off to JS through the bridge instead of the root view props
+    private static final int LARGE_CONTENT_LENGTH = 64 * 1024;
+
+    // Time to wait for the content to journal after an autosave, as for getContent
+    private static final long JOURNAL_CONTENT_TIMEOUT_MS = 10_000;
+
     public void onCreate(Context context) {
         SoLoader.init(context, /* native exopackage */ false);
     }
@@ -158,6 +210,14 @@ public class WPAndroidGlueCode {
         return mContentChanged;
     }
 
+    /**
+     * @return the buffer of recent editor log entries, to dump them, change which levels are captured or attach them
+     * to the reports of JS exceptions
+     */
+    public EditorLogBuffer getEditorLogBuffer() {
+        return mEditorLogBuffer;
+    }
+
     public interface OnMediaLibraryButtonListener {
         void onMediaLibraryImageButtonClicked(boolean allowMultipleSelection);
         void onMediaLibraryVideoButtonClicked(boolean allowMultipleSelection);
@@ -289,6 +349,18 @@ public class WPAndroidGlueCode {
                 if (mGetContentCountDownLatch != null) {
                     mGetContentCountDownLatch.countDown();
                 }
+
+                if (mShouldWriteSessionSnapshot) {
+                    mShouldWriteSessionSnapshot = false;
+                    writeSessionSnapshot();
+                }
+
+                AutosaveJournal autosaveJournal = mAutosaveJournal;
+                if (mShouldJournalContent && autosaveJournal != null) {
+                    mShouldJournalContent = false;
+                    mJournalContentTimeoutHandler.removeCallbacks(mJournalContentTimeout);
+                    autosaveJournal.append(title, html);
+                }
             }
 
             @Override
@@ -393,6 +465,19 @@ public class WPAndroidGlueCode {
 
             @Override
             public void editorDidAutosave() {
+                if (mAutosaveJournal != null && !mShouldJournalContent && hasReactContext()) {
+                    // Journaled once JS responds, without blocking on the content. Given up on after the same
+                    // timeout as getContent, so that the next autosave can request it again.
+                    mShouldJournalContent = true;
+                    mJournalContentTimeoutHandler.postDelayed(mJournalContentTimeout, JOURNAL_CONTENT_TIMEOUT_MS);
+                    try {
+                        mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule().getHtmlFromJS();
+                    } catch (RuntimeException e) {
+                        mJournalContentTimeoutHandler.removeCallbacks(mJournalContentTimeout);
+                        mShouldJournalContent = false;
+                        AppLog.e(T.EDITOR, "Unable to request the content to journal: " + e.getMessage());
+                    }
+                }
                 if (mOnEditorAutosaveListener != null) {
                     mOnEditorAutosaveListener.onEditorAutosave();
                 }
@@ -400,6 +485,15 @@ public class WPAndroidGlueCode {
 
             @Override
             public void editorDidEmitLog(String message, LogLevel logLevel) {
+                if (logLevel == null) {
+                    return;
+                }
+                if (mEditorLogBuffer.shouldCapture(logLevel)) {
+                    mEditorLogBuffer.add(message, logLevel);
+                }
+                if (!mEditorLogBuffer.shouldForward(logLevel)) {
+                    return;
+                }
                 switch (logLevel) {
                     case TRACE:
                         AppLog.d(AppLog.T.EDITOR, message);
@@ -454,7 +548,11 @@ public class WPAndroidGlueCode {
 
             @Override
             public void performPostRequest(String pathFromJS, ReadableMap data, Consumer<String> onSuccess, Consumer<Bundle> onError) {
-                mRequestExecutor.performPostRequest(pathFromJS, data, onSuccess, onError);
+                if (mOfflineRequestQueue != null && mOfflineRequestQueue.shouldQueue(pathFromJS, isConnected())) {
+                    mOfflineRequestQueue.enqueue(pathFromJS, data, onSuccess, onError);
+                } else {
+                    mRequestExecutor.performPostRequest(pathFromJS, data, onSuccess, onError);
+                }
             }
 
             @Override
@@ -517,25 +615,17 @@ public class WPAndroidGlueCode {
 
             @Override
             public void requestBlockTypeImpressions(BlockTypeImpressionsCallback blockTypeImpressionsCallback) {
-                // Double utilized to satisfy both React Native's expectations (https://bit.ly/3f3tsT4)
-                // and Gson's deserialization which uses Double for all numbers (https://bit.ly/2VfpvUv)
-                Map<String, Double> storedImpressions = mOnBlockTypeImpressionsEventListener.onRequestBlockTypeImpressions();
-                WritableMap impressions = Arguments.createMap();
-                for (Map.Entry<String, Double> entry: storedImpressions.entrySet()) {
-                    impressions.putDouble(entry.getKey(), entry.getValue());
-                }
-                blockTypeImpressionsCallback.onRequestBlockTypeImpressions(impressions);
+                blockTypeImpressionsCallback.onRequestBlockTypeImpressions(mBlockTypeImpressionsStore.getImpressions());
             }
 
             @Override
             public void setBlockTypeImpressions(ReadableMap newImpressions) {
-                Map<String, Double> impressions = new HashMap<>();
-                ReadableMapKeySetIterator iterator = newImpressions.keySetIterator();
-                while (iterator.hasNextKey()) {
-                    String key = iterator.nextKey();
-                    impressions.put(key, newImpressions.getDouble(key));
-                }
-                mOnBlockTypeImpressionsEventListener.onSetBlockTypeImpressions(impressions);
+                mBlockTypeImpressionsStore.setImpressions(newImpressions);
+            }
+
+            @Override
+            public void incrementBlockTypeImpressions(ReadableMap increments) {
+                mBlockTypeImpressionsStore.incrementImpressions(increments);
             }
 
             @Override
@@ -569,8 +659,43 @@ public class WPAndroidGlueCode {
                 connectionStatusCallback.onRequestConnectionStatus(isConnected);
             }
 
+            @Override
+            public String getInitialContent(String handle) {
+                Pair<String, String> handoff = mInitialContentHandoff;
+                if (handoff != null && handoff.first.equals(handle)) {
+                    return handoff.second;
+                }
+                AppLog.e(T.EDITOR, "Initial content not found for handle " + handle);
+                return null;
+            }
+
+            @Override
+            public String getTranslations(String handle) {
+                return mTranslationsFileCache != null ? mTranslationsFileCache.read(handle) : null;
+            }
+
+            @Override
+            public ReadableArray querySuggestions(String type, String prefix, int limit) {
+                SuggestionIndex index = SUGGESTION_TYPE_XPOST.equals(type) ? mXpostSuggestionIndex
+                        : mUserSuggestionIndex;
+                WritableArray suggestions = new WritableNativeArray();
+                if (index != null) {
+                    for (SuggestionIndex.Suggestion suggestion : index.query(prefix, limit)) {
+                        WritableMap map = new WritableNativeMap();
+                        map.putString(SUGGESTION_KEY_VALUE, suggestion.getValue());
+                        map.putString(SUGGESTION_KEY_DISPLAY_NAME, suggestion.getDisplayName());
+                        suggestions.pushMap(map);
+                    }
+                }
+                return suggestions;
+            }
+
             @Override
             public void logException(GutenbergJsException exception, LogExceptionCallback logExceptionCallback) {
+                if (mEditorLogBuffer.isAttachedToExceptions()) {
+                    exception = exception.withContext(CONTEXT_KEY_EDITOR_LOG,
+                            mEditorLogBuffer.dump(MAX_EXCEPTION_EDITOR_LOG_LENGTH));
+                }
                 mOnLogExceptionListener.onLogException(exception, logExceptionCallback);
             }
         }, mIsDarkMode);
@@ -644,8 +769,177 @@ public class WPAndroidGlueCode {
             mReactContext = context;
         });
 
-        Bundle initialProps = gutenbergProps.getInitialProps(mReactRootView.getAppProperties());
+        String translationsHandle = mTranslationsFileCache != null
+                ? mTranslationsFileCache.prepare(gutenbergProps.getLocaleSlug(), gutenbergProps.getTranslations())
+                : null;
+        Bundle initialProps = gutenbergProps.getInitialProps(mReactRootView.getAppProperties(), translationsHandle);
         mReactRootView.setAppProperties(initialProps);
+        mEditorThemeChangeDetector.onThemeEmitted(gutenbergProps.getEditorTheme());
+        mDeferredEventEmitter.setInitialCapabilities(gutenbergProps);
+    }
+
+    /**
+     * Enables passing the translations to the editor through a cached file instead of the initial props.
+     * Must be called before {@link #onCreateView}.
+     */
+    public void setTranslationsFileCache(@Nullable TranslationsFileCache translationsFileCache) {
+        mTranslationsFileCache = translationsFileCache;
+    }
+
+    /**
+     * Indexes the users of the site for the mention suggestions queried inline by the editor. The index is built on
+     * a background thread, queries return no suggestions until it is ready.
+     */
+    public void setUserSuggestions(final List<SuggestionIndex.Suggestion> users) {
+        getSuggestionIndexExecutor().execute(() -> mUserSuggestionIndex = new SuggestionIndex(users));
+    }
+
+    /**
+     * Indexes the sites for the xpost suggestions queried inline by the editor, see {@link #setUserSuggestions}.
+     */
+    public void setXpostSuggestions(final List<SuggestionIndex.Suggestion> sites) {
+        getSuggestionIndexExecutor().execute(() -> mXpostSuggestionIndex = new SuggestionIndex(sites));
+    }
+
+    private synchronized ExecutorService getSuggestionIndexExecutor() {
+        if (mSuggestionIndexExecutor == null) {
+            mSuggestionIndexExecutor = Executors.newSingleThreadExecutor();
+        }
+        return mSuggestionIndexExecutor;
+    }
+
+    /**
+     * Enables journaling the editor content on every autosave, off the UI thread. Hosts can then read the latest
+     * durable revision from the journal instead of calling {@link #getContent} when notified of an autosave.
+     */
+    public void setAutosaveJournal(@Nullable AutosaveJournal autosaveJournal) {
+        mAutosaveJournal = autosaveJournal;
+    }
+
+    /**
+     * Enables snapshotting the editor session to the given file when the editor is paused, so that it can be restored
+     * with {@link #restoreSessionSnapshot()} if the process is killed. The file should be specific to the post being
+     * edited.
+     */
+    public void setSessionSnapshotFile(@Nullable File sessionSnapshotFile) {
+        mSessionSnapshotFile = sessionSnapshotFile;
+    }
+
+    /**
+     * Restores the session snapshotted before the process was killed, to be called instead of {@link #setTitle} and
+     * {@link #setContent(String)}. The content changed state, the media and events waiting for the editor to mount,
+     * and the pending editor theme are restored along with the title and content.
+     *
+     * @return false if there is no snapshot to restore, in which case the title and content must be set as usual
+     */
+    public boolean restoreSessionSnapshot() {
+        if (mSessionSnapshotFile == null) {
+            return false;
+        }
+
+        EditorSessionSnapshot snapshot;
+        Bundle editorTheme;
+        try {
+            snapshot = EditorSessionSnapshot.read(mSessionSnapshotFile);
+            if (snapshot == null) {
+                return false;
+            }
+            editorTheme = snapshot.mEditorTheme != null
+                    ? EditorSessionSnapshot.toEditorThemeBundle(snapshot.mEditorTheme) : null;
+        } catch (IOException | JSONException e) {
+            AppLog.e(T.EDITOR, "Unable to restore editor session snapshot: " + e.getMessage());
+            return false;
+        }
+
+        mContentChanged = snapshot.mContentChanged;
+        synchronized (this) {
+            for (Media media : snapshot.mMedia) {
+                mMediaToAddAfterMounting.put(media.getId(), media);
+            }
+        }
+        mDeferredEventEmitter.restorePendingActions(snapshot.mPendingEvents);
+        if (editorTheme != null) {
+            updateTheme(editorTheme);
+        }
+        setTitle(snapshot.mTitle);
+        setContent(snapshot.mContent);
+        return true;
+    }
+
+    /**
+     * Discards the session snapshot, e.g. once the post has been saved.
+     */
+    public void clearSessionSnapshot() {
+        mShouldWriteSessionSnapshot = false;
+        final File sessionSnapshotFile = mSessionSnapshotFile;
+        if (sessionSnapshotFile != null) {
+            getSessionSnapshotExecutor().execute(() -> new AtomicFile(sessionSnapshotFile).delete());
+        }
+    }
+
+    private void writeSessionSnapshot() {
+        final File sessionSnapshotFile = mSessionSnapshotFile;
+        if (sessionSnapshotFile == null) {
+            return;
+        }
+
+        // Only the references are taken here, the snapshot is encoded in the background. The native maps are copied,
+        // as the originals can't be read once they are sent to JS.
+        final String title = mTitle;
+        final String content = mContentHtml;
+        final boolean contentChanged = mContentChanged;
+        final List<Media> media = new ArrayList<>();
+        synchronized (this) {
+            for (Media item : mMediaToAddAfterMounting.values()) {
+                media.add(new Media(item.getId(), item.getUrl(), item.getType(), item.getCaption(), item.getTitle(),
+                        item.getAlt(), copyMap(item.getMetadata())));
+            }
+        }
+        final List<Pair<String, WritableMap>> pendingEvents = new ArrayList<>();
+        for (Pair<String, WritableMap> event : mDeferredEventEmitter.getPendingActions()) {
+            pendingEvents.add(new Pair<>(event.first, event.second != null ? copyMap(event.second) : null));
+        }
+        final Bundle editorTheme = mEditorTheme != null ? new Bundle(mEditorTheme) : null;
+
+        getSessionSnapshotExecutor().execute(() -> {
+            try {
+                String encodedEditorTheme = editorTheme != null
+                        ? GutenbergProps.Companion.encodeEditorTheme(editorTheme) : null;
+                String json = new EditorSessionSnapshot(title, content, contentChanged, media, pendingEvents,
+                        encodedEditorTheme).toJson();
+                EditorSessionSnapshot.write(sessionSnapshotFile, json);
+            } catch (IOException | JSONException e) {
+                AppLog.e(T.EDITOR, "Unable to write editor session snapshot: " + e.getMessage());
+            }
+        });
+    }
+
+    private synchronized ExecutorService getSessionSnapshotExecutor() {
+        if (mSessionSnapshotExecutor == null) {
+            mSessionSnapshotExecutor = Executors.newSingleThreadExecutor();
+        }
+        return mSessionSnapshotExecutor;
+    }
+
+    /**
+     * Writes the snapshot still waiting for JS with the latest content received, and lets the pending writes finish
+     * before the background thread stops.
+     */
+    private void releaseSessionSnapshotExecutor() {
+        if (mShouldWriteSessionSnapshot) {
+            mShouldWriteSessionSnapshot = false;
+            writeSessionSnapshot();
+        }
+        synchronized (this) {
+            if (mSessionSnapshotExecutor != null) {
+                mSessionSnapshotExecutor.shutdown();
+                mSessionSnapshotExecutor = null;
+            }
+        }
+    }
+
+    private static WritableMap copyMap(WritableMap map) {
+        return Arguments.makeNativeMap(map.toHashMap());
     }
 
     public void attachToContainer(ViewGroup viewGroup,
@@ -691,6 +985,10 @@ public class WPAndroidGlueCode {
         mOnFocalPointPickerTooltipShownListener = onFocalPointPickerTooltipListener;
         mOnGutenbergDidRequestPreviewListener = onGutenbergDidRequestPreviewListener;
         mOnBlockTypeImpressionsEventListener = onBlockTypeImpressionsEventListener;
+        if (mBlockTypeImpressionsStore != null) {
+            mBlockTypeImpressionsStore.release();
+        }
+        mBlockTypeImpressionsStore = new BlockTypeImpressionsStore(onBlockTypeImpressionsEventListener);
         mOnCustomerSupportOptionsListener = onCustomerSupportOptionsListener;
         mOnSendEventToHostListener = onSendEventToHostListener;
         mOnToggleUndoButtonListener = onToggleUndoButtonListener;
@@ -701,6 +999,14 @@ public class WPAndroidGlueCode {
 
         sAddCookiesInterceptor.setOnAuthHeaderRequestedListener(onAuthHeaderRequestedListener);
 
+        if (mOfflineRequestQueue != null) {
+            mOfflineRequestQueue.setRequestExecutor(fetchExecutor);
+            if (isConnected()) {
+                // Replay requests that might have been persisted in a previous session
+                mOfflineRequestQueue.onConnectionStatusChange(true);
+            }
+        }
+
         if (mReactRootView.getParent() != null) {
             ((ViewGroup) mReactRootView.getParent()).removeView(mReactRootView);
         }
@@ -740,6 +1046,16 @@ public class WPAndroidGlueCode {
 
             mReactInstanceManager.onHostPause(activity);
         }
+
+        if (mSessionSnapshotFile != null) {
+            if (mIsEditorMounted && hasReactContext()) {
+                // Snapshot the latest content once JS responds
+                mShouldWriteSessionSnapshot = true;
+                mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule().getHtmlFromJS();
+            } else {
+                writeSessionSnapshot();
+            }
+        }
     }
 
     public void onResume(final Fragment fragment, final Activity activity) {
@@ -768,8 +1084,21 @@ public class WPAndroidGlueCode {
         if (mReactRootView != null) {
             mReactRootView.unmountReactApplication();
             mReactRootView = null;
+            mInitialContentHandoff = null;
+            mJournalContentTimeoutHandler.removeCallbacks(mJournalContentTimeout);
+            mShouldJournalContent = false;
             sAddCookiesInterceptor.setOnAuthHeaderRequestedListener(null);
         }
+        if (mBlockTypeImpressionsStore != null) {
+            mBlockTypeImpressionsStore.release();
+        }
+        releaseSessionSnapshotExecutor();
+        synchronized (this) {
+            if (mSuggestionIndexExecutor != null) {
+                mSuggestionIndexExecutor.shutdown();
+                mSuggestionIndexExecutor = null;
+            }
+        }
         if (mReactInstanceManager != null) {
             // onDestroy may be called on a ReactFragment after another ReactFragment has been
             // created and resumed with the same React Instance Manager. Make sure we only clean up
@@ -809,8 +1138,7 @@ public class WPAndroidGlueCode {
 
     public void updateTheme(@Nullable Bundle editorTheme) {
         if (mIsEditorMounted) {
-            mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule()
-                                                .updateTheme(editorTheme);
+            emitThemeChanges(editorTheme);
         } else {
             // Editor hasn't mounted yet. Save theme and load once editor loads
             AppLog.d(AppLog.T.EDITOR, "Editor theme not applied reason: Editor not mounted");
@@ -820,12 +1148,25 @@ public class WPAndroidGlueCode {
 
     private void refreshEditorTheme() {
         if (mEditorTheme != null) {
-            mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule()
-                                                .updateTheme(mEditorTheme);
+            emitThemeChanges(mEditorTheme);
             mEditorTheme = null;
         }
     }
 
+    private void emitThemeChanges(@Nullable Bundle editorTheme) {
+        if (editorTheme == null) {
+            return;
+        }
+
+        Bundle changedSections = mEditorThemeChangeDetector.getChangedSections(editorTheme);
+        if (changedSections != null) {
+            mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule()
+                                                .updateTheme(changedSections);
+        } else {
+            AppLog.d(AppLog.T.EDITOR, "Editor theme not applied reason: Theme has not changed");
+        }
+    }
+
     public void showNotice(String message) {
         if (message != null) {
             mRnReactNativeGutenbergBridgePackage.getRNReactNativeGutenbergBridgeModule().showNoticeInJS(message);
@@ -892,13 +1233,26 @@ public class WPAndroidGlueCode {
             mTitle = title;
         }
 
-        Bundle appProps = GutenbergProps.Companion.initContent(mReactRootView.getAppProperties(), title, content);
+        Bundle appProps;
+        if (content != null && content.length() > LARGE_CONTENT_LENGTH) {
+            // Large posts can exceed the binder transaction limits and would be copied several times as props
+            String handle = UUID.randomUUID().toString();
+            mInitialContentHandoff = new Pair<>(handle, content);
+            appProps = GutenbergProps.Companion.initContentHandle(mReactRootView.getAppProperties(), title, handle);
+        } else {
+            appProps = GutenbergProps.Companion.initContent(mReactRootView.getAppProperties(), title, content);
+        }
         mReactRootView.startReactApplication(mReactInstanceManager, "gutenberg", appProps);
     }
 
     private void updateContent(String title, String content) {
         if (content != null) {
             mContentHtml = content;
+            Pair<String, String> handoff = mInitialContentHandoff;
+            if (handoff != null && !content.equals(handoff.second)) {
+                // Release the superseded content, a reload boots with the latest one (shared with mContentHtml)
+                mInitialContentHandoff = new Pair<>(handoff.first, content);
+            }
         }
         if (title != null) {
             mTitle = title;
@@ -1149,7 +1503,41 @@ public class WPAndroidGlueCode {
     }
 
     public void connectionStatusChange(boolean isConnected) {
+        mConnectionStatusDebouncer.onConnectionStatusChange(isConnected);
+    }
+
+    private void onConnectionStatusSettled(boolean isConnected) {
         mDeferredEventEmitter.onConnectionStatusChange(isConnected);
+        if (mOfflineRequestQueue != null) {
+            mOfflineRequestQueue.onConnectionStatusChange(isConnected);
+        }
+    }
+
+    /**
+     * Sets how long a connection status must hold before being sent to the editor, 0 sends every change right away.
+     */
+    public void setConnectionStatusDebounceWindow(long windowMs) {
+        mConnectionStatusDebouncer.setWindow(windowMs);
+    }
+
+    /**
+     * @return the number of connection status changes that were reverted within the debounce window, and therefore
+     * never sent to the editor
+     */
+    public long getSuppressedConnectionStatusFlapCount() {
+        return mConnectionStatusDebouncer.getSuppressedFlapCount();
+    }
+
+    /**
+     * Enables holding idempotent post requests while offline, to be replayed once the connection is restored.
+     * Must be called before {@link #attachToContainer}.
+     */
+    public void setOfflineRequestQueue(@Nullable OfflineRequestQueue offlineRequestQueue) {
+        mOfflineRequestQueue = offlineRequestQueue;
+    }
+
+    private boolean isConnected() {
+        return mOnConnectionStatusEventListener == null || mOnConnectionStatusEventListener.onRequestConnectionStatus();
     }
 
     public void replaceUnsupportedBlock(String content, String blockId) {
@@ -0,0 +1,76 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.io.File
+
+@RunWith(RobolectricTestRunner::class)
+class AutosaveJournalTest {
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private fun journalFile() = File(folder.root, "journal")
+
+    @Test
+    fun testAppendStoresNullAsEmpty() {
+        val journal = AutosaveJournal(journalFile())
+
+        journal.append(null, "<p>Content</p>")
+        val latest = journal.readLatest()
+
+        assertEquals("", latest?.title)
+        assertEquals("<p>Content</p>", latest?.content)
+    }
+
+    @Test
+    fun testAppendSkipsIdenticalRevisions() {
+        val journal = AutosaveJournal(journalFile())
+
+        journal.append("Title", "<p>Content</p>")
+        journal.append("Title", "<p>Content</p>")
+        journal.readLatest()
+
+        assertEquals(1L, journal.latestDurableRevision)
+        assertEquals(1, journalFile().readLines().size)
+    }
+
+    // The 17th revision compacts the journal down to a single line
+    @Test
+    fun testAppendCompactsTheJournal() {
+        val journal = AutosaveJournal(journalFile())
+
+        for (i in 1..20) {
+            journal.append("Title", "<p>Revision $i</p>")
+        }
+        val latest = journal.readLatest()
+
+        assertEquals(20L, latest?.revision)
+        assertEquals("<p>Revision 20</p>", latest?.content)
+        assertEquals(4, journalFile().readLines().size)
+    }
+
+    @Test
+    fun testRecoveryDropsTornRecord() {
+        val first = AutosaveJournal(journalFile())
+        first.append("Title", "<p>First</p>")
+        first.append("Title", "<p>Second</p>")
+        first.readLatest()
+        journalFile().appendText("{\"revision\":3,\"timestamp\":0,\"ti")
+
+        val recovered = AutosaveJournal(journalFile())
+        val latest = recovered.readLatest()
+
+        assertEquals(2L, latest?.revision)
+        assertEquals("<p>Second</p>", latest?.content)
+
+        // The first append after a recovery compacts the journal
+        recovered.append("Title", "<p>Third</p>")
+        assertEquals(3L, recovered.readLatest()?.revision)
+        assertEquals(1, journalFile().readLines().size)
+    }
+}
@@ -0,0 +1,65 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.shadows.ShadowLooper
+import org.wordpress.mobile.WPAndroidGlue.ConnectionStatusDebouncer.DEFAULT_WINDOW_MS
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+class ConnectionStatusDebouncerTest {
+
+    private val delivered = mutableListOf<Boolean>()
+    private val debouncer = ConnectionStatusDebouncer { delivered.add(it) }
+
+    private fun idleFor(ms: Long) = ShadowLooper.idleMainLooper(ms, TimeUnit.MILLISECONDS)
+
+    @Test
+    fun testFirstStatusIsDeliveredRightAway() {
+        debouncer.onConnectionStatusChange(false)
+
+        assertEquals(listOf(false), delivered)
+    }
+
+    @Test
+    fun testStatusHeldForTheWindowIsDelivered() {
+        debouncer.onConnectionStatusChange(true)
+        debouncer.onConnectionStatusChange(false)
+        idleFor(DEFAULT_WINDOW_MS / 2)
+
+        assertEquals(listOf(true), delivered)
+
+        idleFor(DEFAULT_WINDOW_MS / 2)
+
+        assertEquals(listOf(true, false), delivered)
+        assertEquals(0L, debouncer.suppressedFlapCount)
+    }
+
+    @Test
+    fun testFlapWithinTheWindowIsSuppressed() {
+        debouncer.onConnectionStatusChange(true)
+        debouncer.onConnectionStatusChange(false)
+        idleFor(DEFAULT_WINDOW_MS / 2)
+        debouncer.onConnectionStatusChange(true)
+        idleFor(DEFAULT_WINDOW_MS)
+
+        assertEquals(listOf(true), delivered)
+        assertEquals(1L, debouncer.suppressedFlapCount)
+    }
+
+    @Test
+    fun testEachFlapIsCounted() {
+        debouncer.onConnectionStatusChange(true)
+        repeat(3) {
+            debouncer.onConnectionStatusChange(false)
+            debouncer.onConnectionStatusChange(false)
+            debouncer.onConnectionStatusChange(true)
+        }
+        idleFor(DEFAULT_WINDOW_MS)
+
+        assertEquals(listOf(true), delivered)
+        assertEquals(3L, debouncer.suppressedFlapCount)
+    }
+}
@@ -2,6 +2,7 @@ package org.wordpress.mobile.WPAndroidGlue
 
 import org.junit.Assert.assertEquals
 import org.junit.Test
+import org.wordpress.mobile.WPAndroidGlue.GutenbergProps.Companion.getChangedCapabilities
 import org.wordpress.mobile.WPAndroidGlue.GutenbergProps.Companion.revertDeprecatedLanguageCode
 
 class GutenbergPropsTest {
@@ -25,4 +26,23 @@ class GutenbergPropsTest {
         assertEquals("en-US", revertDeprecatedLanguageCode("en-us"))
         assertEquals("fr-FR", revertDeprecatedLanguageCode("fr-fr"))
     }
+
+    @Test
+    fun testAllCapabilitiesChangeWithoutPreviousSet() {
+        val current = mapOf("mentions" to true, "xposts" to false)
+        assertEquals(current, getChangedCapabilities(null, current))
+    }
+
+    @Test
+    fun testOnlyChangedCapabilitiesAreReturned() {
+        val previous = mapOf("mentions" to true, "xposts" to false, "reusableBlock" to true)
+        val current = mapOf("mentions" to true, "xposts" to true, "reusableBlock" to true)
+        assertEquals(mapOf("xposts" to true), getChangedCapabilities(previous, current))
+    }
+
+    @Test
+    fun testNoCapabilitiesChange() {
+        val capabilities = mapOf("mentions" to true, "xposts" to false)
+        assertEquals(emptyMap<String, Boolean>(), getChangedCapabilities(capabilities, capabilities))
+    }
 }
@@ -0,0 +1,39 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import com.facebook.react.bridge.JavaOnlyArray
+import com.facebook.react.bridge.JavaOnlyMap
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Test
+import org.wordpress.mobile.WPAndroidGlue.JsExceptionAggregator.fingerprint
+
+class JsExceptionAggregatorTest {
+
+    private fun frame(function: String, line: Int) =
+            JavaOnlyMap.of("function", function, "filename", "index.bundle", "lineno", line)
+
+    // Frames are sent outermost first, as parsed by parseException.js
+    private fun exception(vararg frames: JavaOnlyMap) =
+            JavaOnlyMap.of(
+                    "type", "TypeError",
+                    "message", "undefined is not an object",
+                    "stacktrace", JavaOnlyArray.from(frames.toList())
+            )
+
+    @Test
+    fun testDifferentCrashSitesHaveDifferentFingerprints() {
+        val bootstrap = arrayOf(frame("runApplication", 1), frame("renderRoot", 2), frame("performWork", 3))
+        val first = exception(*bootstrap, frame("Paragraph", 10))
+        val second = exception(*bootstrap, frame("Image", 20))
+
+        assertNotEquals(fingerprint(first), fingerprint(second))
+    }
+
+    @Test
+    fun testSameCrashSiteHasSameFingerprint() {
+        val first = exception(frame("runApplication", 1), frame("renderRoot", 2), frame("Paragraph", 10))
+        val second = exception(frame("runApplication", 1), frame("renderRoot", 2), frame("Paragraph", 10))
+
+        assertEquals(fingerprint(first), fingerprint(second))
+    }
+}
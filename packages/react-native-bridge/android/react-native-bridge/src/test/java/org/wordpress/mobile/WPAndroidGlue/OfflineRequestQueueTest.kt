@@ -0,0 +1,143 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import android.os.Bundle
+import androidx.core.util.Consumer
+import com.facebook.react.bridge.JavaOnlyMap
+import com.facebook.react.bridge.ReadableMap
+import org.junit.Assert.assertEquals
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.util.concurrent.AbstractExecutorService
+import java.util.concurrent.Callable
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+class OfflineRequestQueueTest {
+
+    /**
+     * Runs the tasks right away on the calling thread, and holds the delayed ones until [runDelayed] is called.
+     */
+    private class ManualExecutor : AbstractExecutorService(), ScheduledExecutorService {
+        val delays = mutableListOf<Long>()
+        private val delayed = ArrayDeque<Runnable>()
+
+        fun runDelayed(): Boolean {
+            val task = delayed.removeFirstOrNull() ?: return false
+            task.run()
+            return true
+        }
+
+        override fun execute(command: Runnable) = command.run()
+
+        override fun schedule(command: Runnable, delay: Long, unit: TimeUnit): ScheduledFuture<*>? {
+            delays.add(unit.toMillis(delay))
+            delayed.add(command)
+            return null
+        }
+
+        override fun <V> schedule(callable: Callable<V>, delay: Long, unit: TimeUnit): ScheduledFuture<V> =
+                throw UnsupportedOperationException()
+
+        override fun scheduleAtFixedRate(command: Runnable, initialDelay: Long, period: Long, unit: TimeUnit):
+                ScheduledFuture<*> = throw UnsupportedOperationException()
+
+        override fun scheduleWithFixedDelay(command: Runnable, initialDelay: Long, delay: Long, unit: TimeUnit):
+                ScheduledFuture<*> = throw UnsupportedOperationException()
+
+        override fun shutdown() {}
+
+        override fun shutdownNow(): List<Runnable> = emptyList()
+
+        override fun isShutdown() = false
+
+        override fun isTerminated() = false
+
+        override fun awaitTermination(timeout: Long, unit: TimeUnit) = true
+    }
+
+    /**
+     * Answers each POST request with the next of the given errors, then succeeds.
+     */
+    private class FailingRequestExecutor(private vararg val errors: Bundle) : RequestExecutor {
+        var attempts = 0
+
+        override fun performGetRequest(path: String, enableCaching: Boolean, onSuccess: Consumer<String>,
+                                       onError: Consumer<Bundle>) = throw UnsupportedOperationException()
+
+        override fun performPostRequest(path: String, data: ReadableMap, onSuccess: Consumer<String>,
+                                        onError: Consumer<Bundle>) {
+            val error = errors.getOrNull(attempts++)
+            if (error != null) onError.accept(error) else onSuccess.accept("{}")
+        }
+    }
+
+    @get:Rule
+    val folder = TemporaryFolder()
+
+    private val executor = ManualExecutor()
+    private val responses = mutableListOf<String>()
+    private val errors = mutableListOf<Bundle>()
+
+    private fun replayOneRequest(requestExecutor: RequestExecutor): OfflineRequestQueue {
+        val queue = OfflineRequestQueue(folder.root, { true }, executor)
+        queue.setRequestExecutor(requestExecutor)
+        queue.shouldQueue(PATH, false)
+        queue.enqueue(PATH, JavaOnlyMap.of("id", 1), { responses.add(it) }, { errors.add(it) })
+        queue.onConnectionStatusChange(true)
+        return queue
+    }
+
+    private fun networkError() = Bundle()
+
+    private fun serverError() = Bundle().apply { putInt("code", 500) }
+
+    @Test
+    fun testNetworkFailureIsRetriedWithBackoff() {
+        val requestExecutor = FailingRequestExecutor(networkError(), networkError())
+        val queue = replayOneRequest(requestExecutor)
+        while (executor.runDelayed()) {
+            // Replay until the request succeeds
+        }
+
+        assertEquals(3, requestExecutor.attempts)
+        assertEquals(listOf(1000L, 2000L), executor.delays)
+        assertEquals(listOf("{}"), responses)
+        assertEquals(1L, queue.metrics.replayedCount)
+        assertEquals(0, queue.metrics.depth)
+    }
+
+    @Test
+    fun testRequestIsDroppedAfterMaxAttempts() {
+        val requestExecutor = FailingRequestExecutor(*Array(10) { networkError() })
+        val queue = replayOneRequest(requestExecutor)
+        while (executor.runDelayed()) {
+            // Replay until the request is dropped
+        }
+
+        assertEquals(5, requestExecutor.attempts)
+        assertEquals(listOf(1000L, 2000L, 4000L, 8000L), executor.delays)
+        assertEquals(1, errors.size)
+        assertEquals(1L, queue.metrics.droppedCount)
+        assertEquals(0, queue.metrics.depth)
+    }
+
+    @Test
+    fun testServerErrorIsNotRetried() {
+        val requestExecutor = FailingRequestExecutor(serverError())
+        val queue = replayOneRequest(requestExecutor)
+
+        assertEquals(1, requestExecutor.attempts)
+        assertEquals(emptyList<Long>(), executor.delays)
+        assertEquals(500, errors.single().getInt("code"))
+        assertEquals(1L, queue.metrics.droppedCount)
+    }
+
+    companion object {
+        private const val PATH = "/wp/v2/posts/1/autosaves"
+    }
+}
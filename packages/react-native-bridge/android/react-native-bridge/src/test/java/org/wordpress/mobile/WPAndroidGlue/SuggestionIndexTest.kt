@@ -0,0 +1,43 @@
+package org.wordpress.mobile.WPAndroidGlue
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.wordpress.mobile.WPAndroidGlue.SuggestionIndex.Suggestion
+
+class SuggestionIndexTest {
+    private val index = SuggestionIndex(listOf(
+        Suggestion("jdoe", "John Doe"),
+        Suggestion("janedoe", "Jane Doe"),
+        Suggestion("bob", "Bob Smith")
+    ))
+
+    private fun values(prefix: String, limit: Int = 10) = index.query(prefix, limit).map { it.value }
+
+    @Test
+    fun testQueryMatchesValuePrefix() {
+        assertEquals(listOf("janedoe", "jdoe"), values("j"))
+        assertEquals(listOf("jdoe"), values("jd"))
+    }
+
+    @Test
+    fun testQueryMatchesDisplayNameWordsIgnoringCase() {
+        assertEquals(listOf("jdoe", "janedoe"), values("DO"))
+        assertEquals(listOf("bob"), values("smi"))
+    }
+
+    @Test
+    fun testQueryReturnsEachSuggestionOnce() {
+        assertEquals(listOf("bob"), values("bo"))
+    }
+
+    @Test
+    fun testQueryIsLimited() {
+        assertEquals(2, values("", 2).size)
+        assertEquals(3, values("").size)
+    }
+
+    @Test
+    fun testQueryWithoutMatches() {
+        assertEquals(emptyList<String>(), values("zz"))
+    }
+}
@@ -19,11 +19,55 @@ window.getHTMLPostContent = () => {
 	if ( window.webkit ) {
 		window.webkit.messageHandlers.htmlPostContent.postMessage( HTML );
 		// Otherwise it\'s Android
+	} else if ( window.wpwebkit.postMessageChunk ) {
+		// Large content is sent in chunks to stay below the bridge limits
+		window.wpwebkit.beginMessage( HTML.length );
+		window.splitInChunks( HTML ).forEach( ( chunk ) =>
+			window.wpwebkit.postMessageChunk( chunk )
+		);
+		window.wpwebkit.endMessage();
 	} else {
 		window.wpwebkit.postMessage( HTML );
 	}
 };
 
+window.splitInChunks = ( text ) => {
+	const chunkSize = 256 * 1024;
+	const chunks = [];
+	let start = 0;
+	while ( start < text.length ) {
+		let end = Math.min( start + chunkSize, text.length );
+		// Keep surrogate pairs in the same chunk
+		const lastCharCode = text.charCodeAt( end - 1 );
+		if (
+			end < text.length &&
+			lastCharCode >= 0xd800 &&
+			lastCharCode <= 0xdbff
+		) {
+			end++;
+		}
+		chunks.push( text.slice( start, end ) );
+		start = end;
+	}
+	return chunks;
+};
+
+// The block content is received in JSON-escaped chunks, and inserted once
+// complete.
+window.receivedBlockContentChunks = [];
+
+window.receiveBlockContentChunk = ( chunk ) => {
+	window.receivedBlockContentChunks.push( chunk );
+};
+
+window.insertReceivedBlockContent = () => {
+	const blockHTML = window.receivedBlockContentChunks.join( '' );
+	window.receivedBlockContentChunks = [];
+	if ( window.insertBlock && window.contentIncerted !== true ) {
+		window.insertBlock( blockHTML );
+	}
+};
+
 window.insertBlock = ( blockHTML ) => {
 	// Setup the editor with the inserted block.
 	const post = window.wp.data.select( 'core/editor' ).getCurrentPost();
@@ -32,6 +76,67 @@ window.insertBlock = ( blockHTML ) => {
 		.setupEditor( post, { content: blockHTML } );
 
 	window.contentIncerted = true;
+	window.sendNativeSignal( 'blockInserted' );
+	window.observeNuxDismissed();
+};
+
+// Signals used by the Android app to drive the loading of the editor. Other
+// platforms don't listen to them.
+window.sendNativeSignal = ( signal ) => {
+	if (
+		window.wpwebkit &&
+		typeof window.wpwebkit[ signal ] === 'function'
+	) {
+		window.wpwebkit[ signal ]();
+	}
+};
+
+// Runs the callback once the next frame has been rendered.
+window.afterNextFrame = ( callback ) => {
+	window.requestAnimationFrame( () => window.setTimeout( callback, 0 ) );
+};
+
+window.observeDomReady = () => {
+	const signal = () =>
+		window.afterNextFrame( () => window.sendNativeSignal( 'domReady' ) );
+	if ( document.readyState === 'complete' ) {
+		signal();
+	} else {
+		window.addEventListener( 'load', signal, { once: true } );
+	}
+};
+
+// Signals once no NUX element is left and the style overrides have been
+// copied to the editor canvas, so that the editor is never shown unstyled.
+window.observeNuxDismissed = () => {
+	const nuxSelector =
+		'.edit-post-welcome-guide, .components-guide, .nux-dot-tip';
+	let observer;
+	let signaled = false;
+	const signalIfDismissed = () => {
+		if (
+			signaled ||
+			! window.editorStyleOverridesApplied ||
+			document.querySelector( nuxSelector )
+		) {
+			return;
+		}
+		signaled = true;
+		observer.disconnect();
+		document.removeEventListener(
+			'editorStyleOverridesApplied',
+			signalIfDismissed
+		);
+		window.afterNextFrame( () => window.sendNativeSignal( 'nuxDismissed' ) );
+	};
+
+	observer = new window.MutationObserver( signalIfDismissed );
+	observer.observe( document.body, { childList: true, subtree: true } );
+	document.addEventListener(
+		'editorStyleOverridesApplied',
+		signalIfDismissed
+	);
+	signalIfDismissed();
 };
 
 window.sendGutenbergReadyMessage = () => {
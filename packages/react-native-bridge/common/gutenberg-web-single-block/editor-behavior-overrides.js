@@ -125,6 +125,11 @@ window.wp.data.use( toggleBlockSelectedStyles );
 // The editor-canvas iframe relies upon `srcdoc`, which does not trigger a
 // `load` event. Thus, we must poll for the iframe to be ready.
 let overrideAttempts = 0;
+// Lets the NUX observer know that the editor can be shown.
+const signalOverridesDone = () => {
+	window.editorStyleOverridesApplied = true;
+	document.dispatchEvent( new window.Event( 'editorStyleOverridesApplied' ) );
+};
 const overrideInterval = setInterval( () => {
 	overrideAttempts++;
 	const overrideStyles = document.querySelector( '#editor-style-overrides' );
@@ -157,10 +162,13 @@ const overrideInterval = setInterval( () => {
 		if ( firstBlock ) {
 			blockEditorDispatch.selectBlock( firstBlock.clientId );
 		}
+		signalOverridesDone();
+		return;
 	}
 
 	// Safeguard against an infinite loop.
 	if ( overrideAttempts > 100 ) {
 		clearInterval( overrideInterval );
+		signalOverridesDone();
 	}
 }, 300 );
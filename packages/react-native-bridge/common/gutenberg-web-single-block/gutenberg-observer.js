@@ -1 +1,2 @@
+window.observeDomReady();
 window.startObservingGutenberg();
@@ -206,6 +206,37 @@ export function requestConnectionStatus( callback ) {
 	return RNReactNativeGutenbergBridge.requestConnectionStatus( callback );
 }
 
+/**
+ * Pulls the initial content of a large post, which the host app passes by
+ * handle instead of including it in the initial props. The content stays
+ * available for the lifetime of the editor, so that JS can pull it again
+ * when it's reloaded.
+ *
+ * @param {string} handle Handle of the content, from the initial props.
+ * @return {string|undefined} Post content, or undefined if it can't be found.
+ */
+export function getInitialContent( handle ) {
+	if ( ! isAndroid || ! handle ) {
+		return undefined;
+	}
+	return RNReactNativeGutenbergBridge.getInitialContent( handle ) ?? undefined;
+}
+
+/**
+ * Loads the translations that the host app stored in a file instead of
+ * passing them in the initial props.
+ *
+ * @param {string} handle Handle of the translations file, from the initial props.
+ * @return {Object|undefined} Translations, or undefined if they can't be loaded.
+ */
+export function getTranslations( handle ) {
+	if ( ! isAndroid || ! handle ) {
+		return undefined;
+	}
+	const translations = RNReactNativeGutenbergBridge.getTranslations( handle );
+	return translations ? JSON.parse( translations ) : undefined;
+}
+
 /**
  * Request media picker for the given media source.
  *
@@ -383,6 +414,23 @@ export function setBlockTypeImpressions( impressions ) {
 	return RNReactNativeGutenbergBridge.setBlockTypeImpressions( impressions );
 }
 
+/**
+ * Request the host app apply changes to the impression counts of some block types.
+ * Android only sends the changes, other platforms fall back to setting all the updated counts.
+ *
+ * @param {Object} increments  Key-value pairs of block type name and impression count change.
+ * @param {Object} impressions Key-value pairs of block type name and updated impression count.
+ * @return {void}
+ */
+export function incrementBlockTypeImpressions( increments, impressions ) {
+	if ( isAndroid ) {
+		return RNReactNativeGutenbergBridge.incrementBlockTypeImpressions(
+			increments
+		);
+	}
+	return RNReactNativeGutenbergBridge.setBlockTypeImpressions( impressions );
+}
+
 export function requestContactCustomerSupport() {
 	RNReactNativeGutenbergBridge.requestContactCustomerSupport();
 }
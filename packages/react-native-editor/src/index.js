@@ -3,6 +3,10 @@
  */
 import { applyFilters, doAction } from '@wordpress/hooks';
 import { Component, cloneElement, registerComponent } from '@wordpress/element';
+import {
+	getInitialContent,
+	getTranslations,
+} from '@wordpress/react-native-bridge';
 
 /**
  * Internal dependencies
@@ -31,12 +35,25 @@ const registerGutenberg = ( {
 		constructor( props ) {
 			super( props );
 
-			const { rootTag, ...parentProps } = this.props;
+			const { rootTag, editorTheme, initialDataHandle, ...initialProps } =
+				this.props;
+
+			const parentProps = {
+				...initialProps,
+				// Android passes the editor theme as a single JSON-encoded string.
+				...( typeof editorTheme === 'string' &&
+					JSON.parse( editorTheme ) ),
+				// Large posts are pulled from native instead of being passed as props.
+				...( initialDataHandle && {
+					initialData: getInitialContent( initialDataHandle ),
+				} ),
+			};
 
 			// Setup locale.
 			setupLocale(
 				parentProps.locale,
-				parentProps.translations,
+				parentProps.translations ??
+					getTranslations( parentProps.translationsHandle ),
 				getGutenbergTranslation,
 				pluginTranslations
 			);
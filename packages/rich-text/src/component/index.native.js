@@ -98,6 +98,47 @@ const gutenbergFormatNamesToAztec = {
 	'core/text-color': 'mark',
 };
 
+// Formats of the text deltas sent by Aztec on Android, in the order of the
+// bits of their mask in the checksum.
+const aztecDeltaFormatsToGutenberg = {
+	bold: { type: 'core/bold', tagName: 'strong' },
+	italic: { type: 'core/italic', tagName: 'em' },
+	strikethrough: { type: 'core/strikethrough', tagName: 's' },
+};
+const DELTA_FORMAT_TYPES = Object.values( aztecDeltaFormatsToGutenberg ).map(
+	( { type } ) => type
+);
+
+/**
+ * Hash of the text and its delta formats, matching the checksum of the text
+ * deltas computed by Aztec. Zero width spaces are skipped and non-breaking
+ * spaces are hashed as spaces, like Aztec does.
+ *
+ * @param {Object} value Record to hash.
+ *
+ * @return {number} The checksum.
+ */
+const getTextDeltaChecksum = ( { text, formats } ) => {
+	let checksum = 0;
+	for ( let index = 0; index < text.length; index++ ) {
+		if ( text[ index ] === '\u200B' ) {
+			continue;
+		}
+		const charCode =
+			text[ index ] === '\u00A0' ? 32 : text.charCodeAt( index );
+		const formatsMask = ( formats[ index ] || [] ).reduce(
+			( mask, { type } ) => {
+				const bit = DELTA_FORMAT_TYPES.indexOf( type );
+				return bit === -1 ? mask : mask | ( 1 << bit );
+			},
+			0
+		);
+		checksum = ( Math.imul( 31, checksum ) + charCode ) | 0;
+		checksum = ( Math.imul( 31, checksum ) + formatsMask ) | 0;
+	}
+	return checksum;
+};
+
 const EMPTY_PARAGRAPH_TAGS = '<p></p>';
 const DEFAULT_FONT_SIZE = 16;
 const MIN_LINE_HEIGHT = 1;
@@ -337,9 +378,18 @@ export class RichText extends Component {
 			return;
 		}
 
-		const contentWithoutRootTag = this.removeRootTagsProducedByAztec(
-			unescapeSpaces( event.nativeEvent.text )
-		);
+		const { delta } = event.nativeEvent;
+		const contentWithoutRootTag = delta
+			? this.applyTextDeltaFromAztec( delta )
+			: this.removeRootTagsProducedByAztec(
+					unescapeSpaces( event.nativeEvent.text )
+			  );
+		if ( contentWithoutRootTag === undefined ) {
+			// The value diverged from the native text, Aztec will send its HTML.
+			this._editor.requestTextSync();
+			return;
+		}
+		this.lastTextRevision = event.nativeEvent.revision;
 		// On iOS, onChange can be triggered after selection changes, even though there are no content changes.
 		if ( contentWithoutRootTag === this.value ) {
 			return;
@@ -347,14 +397,75 @@ export class RichText extends Component {
 		this.lastEventCount = event.nativeEvent.eventCount;
 		this.comesFromAztec = true;
 		this.firedAfterTextChanged = true; // The onChange event always fires after the fact.
-		this.onTextUpdate( event );
+		this.onTextUpdate( event, contentWithoutRootTag );
 		this.lastAztecEventType = 'input';
 	}
 
-	onTextUpdate( event ) {
-		const contentWithoutRootTag = this.removeRootTagsProducedByAztec(
-			unescapeSpaces( event.nativeEvent.text )
+	/*
+	 * Applies a text delta sent by Aztec, a replacement of the plain text between
+	 * `start` and `end`, to the current value. Returns undefined if the delta
+	 * can't be applied, or the checksum of the result doesn't match.
+	 */
+	applyTextDeltaFromAztec( { start, end, text, formats, checksum } ) {
+		// The value patched by the previous delta is kept along with its HTML,
+		// so that typing doesn't parse the whole HTML again on every change.
+		const record =
+			this.lastDeltaValue && this.lastDeltaValue.html === this.value
+				? this.lastDeltaValue.value
+				: this.createRecord();
+		if ( start > end || end > record.text.length ) {
+			return undefined;
+		}
+
+		// Reuse the formats of the surrounding text when they are the same, so
+		// that the inserted text is merged in the same tags.
+		const insertedFormats = formats.map(
+			( format ) => aztecDeltaFormatsToGutenberg[ format ]
 		);
+		const surroundingFormats = [
+			record.formats[ start - 1 ],
+			record.formats[ end ],
+		].find(
+			( formatsAtIndex ) =>
+				formatsAtIndex &&
+				formatsAtIndex.length === insertedFormats.length &&
+				formatsAtIndex.every( ( { type } ) =>
+					insertedFormats.some( ( format ) => format.type === type )
+				)
+		);
+		const formatsAtIndex = insertedFormats.length
+			? surroundingFormats ||
+			  insertedFormats.map( ( format ) => ( { ...format } ) )
+			: undefined;
+
+		const value = insert(
+			record,
+			{
+				text,
+				formats: Array.from( text, () => formatsAtIndex ),
+				replacements: Array.from( text, () => undefined ),
+			},
+			start,
+			end
+		);
+		if (
+			checksum !== undefined &&
+			getTextDeltaChecksum( value ) !== checksum
+		) {
+			this.lastDeltaValue = undefined;
+			return undefined;
+		}
+		const html = this.valueToFormat( value );
+		this.lastDeltaValue = { html, value };
+		return html;
+	}
+
+	onTextUpdate(
+		event,
+		contentWithoutRootTag = this.removeRootTagsProducedByAztec(
+			unescapeSpaces( event.nativeEvent.text )
+		)
+	) {
 		let formattedContent = contentWithoutRootTag;
 		if ( ! this.isIOS ) {
 			formattedContent = this.restoreParagraphTags(
@@ -658,12 +769,23 @@ export class RichText extends Component {
 		const realStart = Math.min( start, end );
 		const realEnd = Math.max( start, end );
 
+		// Without the text, its revision tells whether the text changed since the last one received.
+		// The text last set from JS is already known, whatever its revision.
+		const { text: html, revision, isTextSetFromJS } = event.nativeEvent;
+		const hasText = html !== undefined;
+		if ( ! hasText && isTextSetFromJS ) {
+			this.lastTextRevision = revision;
+		}
+		const contentWithoutRootTag = hasText
+			? this.removeRootTagsProducedByAztec( unescapeSpaces( html ) )
+			: undefined;
+		const hasTextChanged = hasText
+			? contentWithoutRootTag !== this.value
+			: revision !== this.lastTextRevision;
+
 		// Check and dicsard stray event, where the text and selection is equal to the ones already cached.
-		const contentWithoutRootTag = this.removeRootTagsProducedByAztec(
-			unescapeSpaces( event.nativeEvent.text )
-		);
 		if (
-			contentWithoutRootTag === this.value &&
+			! hasTextChanged &&
 			realStart === this.selectionStart &&
 			realEnd === this.selectionEnd
 		) {
@@ -675,7 +797,13 @@ export class RichText extends Component {
 
 		// Update text before updating selection
 		// Make sure there are changes made to the content before upgrading it upward.
-		this.onTextUpdate( event );
+		if ( hasText ) {
+			this.lastTextRevision = revision;
+			this.onTextUpdate( event, contentWithoutRootTag );
+		} else if ( hasTextChanged ) {
+			// Aztec will send the text in an onChange event.
+			this._editor.requestTextSync();
+		}
 
 		// Aztec can send us selection change events after it has lost focus.
 		// For instance the autocorrect feature will complete a partially written
@@ -1249,6 +1377,8 @@ export class RichText extends Component {
 					placeholder={ this.props.placeholder }
 					placeholderTextColor={ this.getPlaceholderTextColor() }
 					deleteEnter={ this.props.deleteEnter }
+					deltaTextChanges={ ! this.isIOS && ! this.isMultiline }
+					selectionChangesWithoutText={ ! this.isIOS }
 					onChange={ this.onChangeFromAztec }
 					onFocus={ this.onFocus }
 					onBlur={ this.onBlur }
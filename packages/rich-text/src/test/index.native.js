@@ -2,7 +2,12 @@
  * External dependencies
  */
 import { Dimensions } from 'react-native';
-import { getEditorHtml, render, initializeEditor } from 'test/helpers';
+import {
+	fireEvent,
+	getEditorHtml,
+	render,
+	initializeEditor,
+} from 'test/helpers';
 
 /**
  * WordPress dependencies
@@ -10,6 +15,7 @@ import { getEditorHtml, render, initializeEditor } from 'test/helpers';
 import { select } from '@wordpress/data';
 import { store as blockEditorStore } from '@wordpress/block-editor';
 import { coreBlocks } from '@wordpress/block-library';
+import RCTAztecView from '@wordpress/react-native-aztec';
 import {
 	getBlockTypes,
 	setDefaultBlockName,
@@ -275,4 +281,245 @@ describe( '<RichText/>', () => {
 			expect( actualFontSize ).toBe( expectedLineHeight );
 		} );
 	} );
+
+	describe( 'Text deltas', () => {
+		let eventCount = 0;
+
+		const changeTextWithDelta = ( richText, delta ) =>
+			fireEvent( richText, 'onChange', {
+				nativeEvent: {
+					eventCount: ( eventCount += 101 ),
+					target: undefined,
+					delta,
+				},
+			} );
+
+		let requestTextSync;
+
+		beforeEach( () => {
+			requestTextSync = jest
+				.spyOn( RCTAztecView.prototype, 'requestTextSync' )
+				.mockImplementation( () => {} );
+		} );
+
+		afterEach( () => {
+			requestTextSync.mockRestore();
+		} );
+
+		it( 'should apply a text delta from Aztec to the value', () => {
+			// Arrange.
+			const onChange = jest.fn();
+			const { getByLabelText } = render(
+				<RichText
+					accessibilityLabel={ 'editor' }
+					tagName="p"
+					value="Hello"
+					onChange={ onChange }
+				/>
+			);
+			// Act.
+			changeTextWithDelta( getByLabelText( 'editor' ), {
+				start: 5,
+				end: 5,
+				text: ' world',
+				formats: [ 'bold' ],
+			} );
+			// Assert.
+			expect( onChange ).toHaveBeenLastCalledWith(
+				'Hello<strong> world</strong>'
+			);
+		} );
+
+		it( 'should apply consecutive text deltas from Aztec', () => {
+			// Arrange.
+			const onChange = jest.fn();
+			const { getByLabelText } = render(
+				<RichText
+					accessibilityLabel={ 'editor' }
+					tagName="p"
+					value="Hello world"
+					onChange={ onChange }
+				/>
+			);
+			const richText = getByLabelText( 'editor' );
+			// Act.
+			changeTextWithDelta( richText, {
+				start: 5,
+				end: 11,
+				text: ' there',
+				formats: [],
+			} );
+			changeTextWithDelta( richText, {
+				start: 11,
+				end: 11,
+				text: '!',
+				formats: [ 'italic' ],
+			} );
+			// Assert.
+			expect( onChange ).toHaveBeenLastCalledWith(
+				'Hello there<em>!</em>'
+			);
+		} );
+
+		it( 'should accept the checksum computed by Aztec', () => {
+			// Arrange.
+			const onChange = jest.fn();
+			const { getByLabelText } = render(
+				<RichText
+					accessibilityLabel={ 'editor' }
+					tagName="p"
+					value="a<strong>b</strong>"
+					onChange={ onChange }
+				/>
+			);
+			// Act.
+			// Checksum of "abc" with "bc" in bold, as computed by Aztec.
+			changeTextWithDelta( getByLabelText( 'editor' ), {
+				start: 2,
+				end: 2,
+				text: 'c',
+				formats: [ 'bold' ],
+				checksum: -1515016100,
+			} );
+			// Assert.
+			expect( onChange ).toHaveBeenLastCalledWith( 'a<strong>bc</strong>' );
+			expect( requestTextSync ).not.toHaveBeenCalled();
+		} );
+
+		it( 'should hash non-breaking spaces as spaces like Aztec', () => {
+			// Arrange.
+			const onChange = jest.fn();
+			const { getByLabelText } = render(
+				<RichText
+					accessibilityLabel={ 'editor' }
+					tagName="p"
+					value="a&nbsp;"
+					onChange={ onChange }
+				/>
+			);
+			// Act.
+			// Checksum of "a b" with "b" struck through, as computed by Aztec.
+			changeTextWithDelta( getByLabelText( 'editor' ), {
+				start: 2,
+				end: 2,
+				text: 'b',
+				formats: [ 'strikethrough' ],
+				checksum: -1516983295,
+			} );
+			// Assert.
+			expect( onChange ).toHaveBeenCalled();
+			expect( requestTextSync ).not.toHaveBeenCalled();
+		} );
+
+		it( 'should request the text from Aztec when the checksum does not match', () => {
+			// Arrange.
+			const onChange = jest.fn();
+			const { getByLabelText } = render(
+				<RichText
+					accessibilityLabel={ 'editor' }
+					tagName="p"
+					value="a<strong>b</strong>"
+					onChange={ onChange }
+				/>
+			);
+			// Act.
+			changeTextWithDelta( getByLabelText( 'editor' ), {
+				start: 2,
+				end: 2,
+				text: 'c',
+				formats: [],
+				checksum: -1515016100,
+			} );
+			// Assert.
+			expect( onChange ).not.toHaveBeenCalled();
+			expect( requestTextSync ).toHaveBeenCalled();
+		} );
+
+		describe( 'selection changes without text', () => {
+			const changeSelection = ( richText, start, nativeEvent ) =>
+				fireEvent( richText, 'onSelectionChange', {
+					nativeEvent: {
+						eventCount: ( eventCount += 101 ),
+						target: undefined,
+						selectionStart: start,
+						selectionEnd: start,
+						...nativeEvent,
+					},
+				} );
+
+			it( 'should request the text from Aztec when its revision is unknown', () => {
+				// Arrange.
+				const { getByLabelText } = render(
+					<RichText
+						accessibilityLabel={ 'editor' }
+						tagName="p"
+						value="Hello"
+					/>
+				);
+				// Act.
+				changeSelection( getByLabelText( 'editor' ), 1, {
+					revision: 3,
+					isTextSetFromJS: false,
+				} );
+				// Assert.
+				expect( requestTextSync ).toHaveBeenCalledTimes( 1 );
+			} );
+
+			it( 'should not request the text last set from JS', () => {
+				// Arrange.
+				const { getByLabelText } = render(
+					<RichText
+						accessibilityLabel={ 'editor' }
+						tagName="p"
+						value="Hello"
+					/>
+				);
+				const richText = getByLabelText( 'editor' );
+				// Act.
+				changeSelection( richText, 1, {
+					revision: 3,
+					isTextSetFromJS: true,
+				} );
+				changeSelection( richText, 2, {
+					revision: 3,
+					isTextSetFromJS: false,
+				} );
+				// Assert.
+				expect( requestTextSync ).not.toHaveBeenCalled();
+			} );
+
+			it( 'should not request the text received with a text delta', () => {
+				// Arrange.
+				const { getByLabelText } = render(
+					<RichText
+						accessibilityLabel={ 'editor' }
+						tagName="p"
+						value="Hello"
+						onChange={ jest.fn() }
+					/>
+				);
+				const richText = getByLabelText( 'editor' );
+				// Act.
+				fireEvent( richText, 'onChange', {
+					nativeEvent: {
+						eventCount: ( eventCount += 101 ),
+						target: undefined,
+						revision: 7,
+						delta: {
+							start: 5,
+							end: 5,
+							text: '!',
+							formats: [],
+						},
+					},
+				} );
+				changeSelection( richText, 6, {
+					revision: 7,
+					isTextSetFromJS: false,
+				} );
+				// Assert.
+				expect( requestTextSync ).not.toHaveBeenCalled();
+			} );
+		} );
+	} );
 } );
@@ -90,6 +90,7 @@ jest.mock( '@wordpress/react-native-bridge', () => {
 		sendMediaUpload: jest.fn(),
 		sendMediaSave: jest.fn(),
 		setBlockTypeImpressions: jest.fn(),
+		incrementBlockTypeImpressions: jest.fn(),
 		setFeaturedImage: jest.fn(),
 		subscribeParentToggleHTMLMode: jest.fn(),
 		subscribeSetTitle: jest.fn(),